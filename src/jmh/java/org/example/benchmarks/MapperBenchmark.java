@@ -0,0 +1,71 @@
+package org.example.benchmarks;
+
+import org.example.mapper.TournamentMapper;
+import org.example.mapper.UserMapper;
+import org.example.model.CreateTournamentInput;
+import org.example.model.EditTournamentInput;
+import org.example.model.EditUserInput;
+import org.example.model.RegisterUserInput;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapperBenchmark {
+
+    CreateTournamentInput createTournamentInput;
+
+    EditTournamentInput editTournamentInput;
+
+    RegisterUserInput registerUserInput;
+
+    EditUserInput editUserInput;
+
+    @Setup
+    public void setUp() {
+        createTournamentInput = new CreateTournamentInput("name", "game", BigDecimal.valueOf(100), "USD", 5,
+                "Battle Royal", "01-01-2030 12:00:00", "Europe", 64);
+        // bracketType stays null: the mapper parses it as the date
+        editTournamentInput = new EditTournamentInput("1", "new name", "new game", BigDecimal.valueOf(200), "EUR", 3,
+                null, null, "Asia");
+        registerUserInput = new RegisterUserInput("name", "surname", "password", "username");
+        editUserInput = new EditUserInput("1", "new name", "new surname", null, "new username");
+    }
+
+    @Benchmark
+    public Tournament createTournamentInputToTournament() {
+        return TournamentMapper.INSTANCE.createTournamentInputToTournament(createTournamentInput);
+    }
+
+    @Benchmark
+    public Tournament editTournamentInputToTournament() {
+        return TournamentMapper.INSTANCE.editTournamentInputToTournament(editTournamentInput, new Tournament());
+    }
+
+    @Benchmark
+    public User registerUserInputToUser() {
+        return UserMapper.INSTANCE.registerUserInputToUser(registerUserInput);
+    }
+
+    @Benchmark
+    public User editUserInputToUser() {
+        return UserMapper.INSTANCE.editUserInputToUser(editUserInput, new User());
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.example.model.JoinStatus;
+import org.example.model.MembershipStatus;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.TournamentMembership;
+import org.example.repository.TournamentMembershipRepository;
+import org.example.repository.TournamentRepository;
+import org.example.service.TournamentEventPublisher;
+import org.example.service.TournamentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Join, unjoin and team join in {@link TournamentService} against tournaments with large rosters, plus grouping the
+ * memberships of many users for the {@code User.tournaments} loader. The repositories are kept in memory so the
+ * numbers cover the service logic only; Mongo round trips are measured by the load test.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MembershipBenchmark {
+
+    private static final String TOURNAMENT_ID = "t1";
+
+    @Param({"100", "10000", "1000000"})
+    int rosterSize;
+
+    @Param({"50"})
+    int teamSize;
+
+    Set<String> roster;
+
+    Tournament tournament;
+
+    TournamentService tournamentService;
+
+    List<String> team;
+
+    List<TournamentMembership> memberships;
+
+    List<Tournament> joined;
+
+    @Setup
+    public void setUp() {
+        // one info line per join would measure the console instead of the service
+        ((Logger) LoggerFactory.getLogger("org.example")).setLevel(Level.WARN);
+
+        roster = new HashSet<>();
+        for (int i = 0; i < rosterSize; i++) {
+            roster.add("member" + i);
+        }
+        tournament = new Tournament();
+        tournament.setId(TOURNAMENT_ID);
+        tournament.setParticipantCount(rosterSize);
+        tournamentService = new TournamentService(tournamentRepository(), tournamentMembershipRepository(),
+                new TournamentEventPublisher(false, 256));
+
+        // half of the team is already on the roster
+        team = new ArrayList<>();
+        for (int i = 0; i < teamSize; i++) {
+            team.add(i % 2 == 0 ? "member" + i : "newcomer" + i);
+        }
+
+        joined = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Tournament joinedTournament = new Tournament();
+            joinedTournament.setId("t" + i);
+            joined.add(joinedTournament);
+        }
+        memberships = new ArrayList<>();
+        for (int i = 0; i < rosterSize; i++) {
+            memberships.add(new TournamentMembership("m" + i, "t" + (i % 100), "member" + (i % 1000), Instant.EPOCH, MembershipStatus.JOINED));
+        }
+    }
+
+    @Benchmark
+    public Tournament joinThenUnjoin() {
+        tournamentService.joinTournament(TOURNAMENT_ID, "newcomer");
+        return tournamentService.unjoinTournament(TOURNAMENT_ID, "newcomer");
+    }
+
+    @Benchmark
+    public Map<String, JoinStatus> joinTournamentAsTeam() {
+        Map<String, JoinStatus> statuses = tournamentService.joinTournamentAsTeam(TOURNAMENT_ID, team);
+        List<String> newcomers = statuses.entrySet().stream()
+                .filter(entry -> entry.getValue() == JoinStatus.JOINED)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        roster.removeAll(newcomers);
+        tournament.setParticipantCount(tournament.getParticipantCount() - newcomers.size());
+        return statuses;
+    }
+
+    @Benchmark
+    public Map<String, List<Tournament>> groupByUser() {
+        return TournamentService.groupByUser(memberships, List.of(), joined);
+    }
+
+    private TournamentMembershipRepository tournamentMembershipRepository() {
+        return (TournamentMembershipRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{TournamentMembershipRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "join":
+                            return roster.add((String) args[1]);
+                        case "leave":
+                            return roster.remove((String) args[1]);
+                        case "joinAll":
+                            return ((Collection<?>) args[1]).stream()
+                                    .map(String.class::cast)
+                                    .filter(roster::add)
+                                    .collect(Collectors.toList());
+                        case "findJoinedUserIds":
+                            return ((Collection<?>) args[1]).stream()
+                                    .map(String.class::cast)
+                                    .filter(roster::contains)
+                                    .collect(Collectors.toSet());
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private TournamentRepository tournamentRepository() {
+        return (TournamentRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{TournamentRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "reserveSlots":
+                            tournament.setParticipantCount(tournament.getParticipantCount() + (Integer) args[1]);
+                            return tournament;
+                        case "releaseSlots":
+                            tournament.setParticipantCount(tournament.getParticipantCount() - (Integer) args[1]);
+                            return tournament;
+                        case "existsById":
+                            return true;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
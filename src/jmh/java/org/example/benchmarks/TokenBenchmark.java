@@ -0,0 +1,86 @@
+package org.example.benchmarks;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.example.config.security.AuthenticatedUser;
+import org.example.config.security.filter.CustomAuthorizationFilter;
+import org.example.service.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and verifying access tokens with the same RS256 setup as {@code JwtConfig}, and building the request's
+ * authentication from verified claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TokenBenchmark {
+
+    TokenService tokenService;
+
+    Authentication authentication;
+
+    String token;
+
+    Map<String, Object> claims;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        RSAKey jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        tokenService = new TokenService(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk))),
+                NimbusJwtDecoder.withPublicKey(publicKey).build());
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+        authentication = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser("63a1f0c2e4b0a1b2c3d4e5f6", "user1", null, authorities), null, authorities);
+        token = tokenService.generateToken(authentication, 15);
+        claims = tokenService.verifyToken(token).getClaims();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(authentication, 15);
+    }
+
+    @Benchmark
+    public Jwt verifyToken() {
+        return tokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Authentication createAuthentication() {
+        return CustomAuthorizationFilter.createAuthentication(claims);
+    }
+}
@@ -1,12 +1,16 @@
 package org.example;
 
 import org.example.config.security.RsaKeyProperties;
+import org.example.graphql.GraphQlInstrumentationProperties;
+import org.example.graphql.QueryLimitsProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@EnableConfigurationProperties(RsaKeyProperties.class)
+@EnableConfigurationProperties({RsaKeyProperties.class, GraphQlInstrumentationProperties.class, QueryLimitsProperties.class})
 @SpringBootApplication
+@EnableScheduling
 public class DemoApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,142 @@
+package org.example.config.mongo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on the {@code @Document} entities and reports every declared index that is missing
+ * or differs from the one found in the database. Differing indexes are never dropped automatically. Runs while the
+ * context is initialized, before the web server accepts requests, and fails the startup when a declared unique index
+ * cannot be relied on, as joins and sign-ups depend on it to reject duplicates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(MongoIndexInitializer.ORDER)
+public class MongoIndexInitializer {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MongoMappingContext mongoMappingContext;
+
+    @Value("${app.mongo.indexes.create-missing:true}")
+    private boolean createMissing;
+
+    @PostConstruct
+    public void verifyIndexes() {
+        List<String> problems = new ArrayList<>();
+        List<String> uniqueIndexProblems = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mongoMappingContext.getPersistentEntities()) {
+            if (entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                verifyIndexes(entity, problems, uniqueIndexProblems);
+            }
+        }
+        if (problems.isEmpty()) {
+            log.info("All declared MongoDB indexes are present");
+        } else {
+            problems.forEach(problem -> log.warn("Index check: {}", problem));
+        }
+        if (!uniqueIndexProblems.isEmpty()) {
+            throw new IllegalStateException("Required unique indexes are missing or differ: " + String.join("; ", uniqueIndexProblems));
+        }
+    }
+
+    public List<String> verifyIndexes(MongoPersistentEntity<?> entity) {
+        List<String> problems = new ArrayList<>();
+        verifyIndexes(entity, problems, new ArrayList<>());
+        return problems;
+    }
+
+    private void verifyIndexes(MongoPersistentEntity<?> entity, List<String> problems, List<String> uniqueIndexProblems) {
+        MongoPersistentEntityIndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        IndexOperations indexOperations = mongoTemplate.indexOps(entity.getCollection());
+        Map<String, IndexInfo> existingIndexes = indexOperations.getIndexInfo().stream()
+                .collect(Collectors.toMap(IndexInfo::getName, Function.identity()));
+
+        for (IndexDefinitionHolder declared : indexResolver.resolveIndexForEntity(entity)) {
+            if (isDeclaredOnEmbeddedDocument(entity, declared)) {
+                continue;
+            }
+            String name = declared.getIndexOptions().getString("name");
+            IndexInfo existing = existingIndexes.get(name);
+            String problem = null;
+            if (existing == null) {
+                if (createMissing) {
+                    indexOperations.ensureIndex(declared.getIndexDefinition());
+                    log.info("Created index {} on {}", name, entity.getCollection());
+                } else {
+                    problem = String.format("index %s %s is missing on %s", name, declared.getIndexKeys().toJson(), entity.getCollection());
+                }
+            } else if (!matches(declared, existing)) {
+                problem = String.format("index %s on %s is %s but %s is declared", name, entity.getCollection(), existing, declared);
+            }
+            if (problem != null) {
+                problems.add(problem);
+                if (declared.getIndexOptions().getBoolean("unique", false)) {
+                    uniqueIndexProblems.add(problem);
+                }
+            }
+        }
+    }
+
+    /**
+     * Entities such as {@code Role} are embedded in other documents; their indexes belong to their own collection,
+     * not to every document that embeds them.
+     */
+    private boolean isDeclaredOnEmbeddedDocument(MongoPersistentEntity<?> entity, IndexDefinitionHolder declared) {
+        String path = declared.getPath();
+        if (path == null || !path.contains(".")) {
+            return false;
+        }
+        MongoPersistentProperty property = entity.getPersistentProperty(path.substring(0, path.indexOf('.')));
+        if (property == null) {
+            return false;
+        }
+        MongoPersistentEntity<?> embedded = mongoMappingContext.getPersistentEntity(property.getActualType());
+        return embedded != null && embedded.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class);
+    }
+
+    private static boolean matches(IndexDefinitionHolder declared, IndexInfo existing) {
+        Document options = declared.getIndexOptions();
+        Long expireAfterSeconds = options.containsKey("expireAfterSeconds") ? ((Number) options.get("expireAfterSeconds")).longValue() : null;
+        Long existingExpireAfterSeconds = existing.getExpireAfter().map(Duration::getSeconds).orElse(null);
+        return keysOf(existing).equals(new ArrayList<>(declared.getIndexKeys().entrySet()))
+                && options.getBoolean("unique", false) == existing.isUnique()
+                && options.getBoolean("sparse", false) == existing.isSparse()
+                && Objects.equals(expireAfterSeconds, existingExpireAfterSeconds);
+    }
+
+    private static List<Map.Entry<String, Object>> keysOf(IndexInfo indexInfo) {
+        Document keys = new Document();
+        for (IndexField field : indexInfo.getIndexFields()) {
+            keys.put(field.getKey(), field.getDirection() == Sort.Direction.DESC ? -1 : 1);
+        }
+        return new ArrayList<>(keys.entrySet());
+    }
+}
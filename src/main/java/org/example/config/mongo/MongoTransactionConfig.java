@@ -0,0 +1,21 @@
+package org.example.config.mongo;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Makes {@code @Transactional} methods run in MongoDB multi-document transactions. Transactions need a replica set
+ * or sharded cluster; without this configuration {@code @Transactional} has no effect.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.mongo.transactions.enabled", havingValue = "true")
+public class MongoTransactionConfig {
+
+    @Bean
+    MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+}
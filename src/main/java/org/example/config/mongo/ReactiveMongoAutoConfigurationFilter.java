@@ -0,0 +1,46 @@
+package org.example.config.mongo;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+
+/**
+ * Leaves out the reactive MongoClient, template and repositories unless {@code app.mongo.reactive.enabled=true}, so
+ * the default blocking setup runs on a single MongoClient and connection pool although the reactive driver is on the
+ * classpath. Registered in {@code META-INF/spring.factories}, as {@code spring.autoconfigure.exclude} cannot depend
+ * on another property.
+ */
+public class ReactiveMongoAutoConfigurationFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    private static final String ENABLED_PROPERTY = "app.mongo.reactive.enabled";
+
+    private static final Set<String> REACTIVE_AUTO_CONFIGURATIONS = Set.of(
+            MongoReactiveAutoConfiguration.class.getName(),
+            MongoReactiveDataAutoConfiguration.class.getName(),
+            MongoReactiveRepositoriesAutoConfiguration.class.getName());
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean reactiveEnabled = environment.getProperty(ENABLED_PROPERTY, Boolean.class, false);
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            // earlier filters leave null for the classes they already removed
+            String autoConfigurationClass = autoConfigurationClasses[i];
+            matches[i] = reactiveEnabled || autoConfigurationClass == null || !REACTIVE_AUTO_CONFIGURATIONS.contains(autoConfigurationClass);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.config.mongo;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.example.model.MembershipStatus;
+import org.example.model.entity.TournamentMembership;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Moves the memberships embedded in {@code Tournament.userList} into the {@code TournamentMembership} collection,
+ * then removes the embedded {@code Tournament.userList} and {@code User.tournamentId} arrays. Tournaments are
+ * migrated one by one with idempotent upserts, so an interrupted migration continues on the next start. The upserts
+ * rely on the unique membership index, so the migration runs after {@link MongoIndexInitializer} and, like it, before
+ * the web server accepts requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(MongoIndexInitializer.ORDER + 1)
+public class TournamentMembershipMigration implements SmartInitializingSingleton {
+
+    private static final String TOURNAMENT_COLLECTION = "Tournament";
+
+    private static final String USER_COLLECTION = "User";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Injected only so the indexes are in place before the migration runs.
+     */
+    private final MongoIndexInitializer mongoIndexInitializer;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    public void migrate() {
+        Query legacyTournaments = query(where("userList").exists(true));
+        legacyTournaments.fields().include("userList");
+        int migrated = 0;
+        try (CloseableIterator<Document> tournaments = mongoTemplate.stream(legacyTournaments, Document.class, TOURNAMENT_COLLECTION)) {
+            while (tournaments.hasNext()) {
+                migrate(tournaments.next());
+                migrated++;
+            }
+        }
+        UpdateResult users = mongoTemplate.updateMulti(query(where("tournamentId").exists(true)), new Update().unset("tournamentId"), USER_COLLECTION);
+        if (migrated > 0 || users.getModifiedCount() > 0) {
+            log.info("Migrated memberships of {} tournaments and removed tournament lists of {} users", migrated, users.getModifiedCount());
+        }
+    }
+
+    private void migrate(Document tournament) {
+        Object id = tournament.get("_id");
+        String tournamentId = id.toString();
+        List<String> userIds = tournament.getList("userList", String.class, List.of());
+        if (!userIds.isEmpty()) {
+            Instant joinedAt = Instant.now();
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TournamentMembership.class);
+            userIds.forEach(userId -> bulkOperations.upsert(query(where("tournamentId").is(tournamentId).and("userId").is(userId)),
+                    new Update().setOnInsert("status", MembershipStatus.JOINED).setOnInsert("joinedAt", joinedAt)));
+            bulkOperations.execute();
+        }
+        long participantCount = mongoTemplate.count(query(where("tournamentId").is(tournamentId).and("status").is(MembershipStatus.JOINED)),
+                TournamentMembership.class);
+        mongoTemplate.updateFirst(query(where("_id").is(id)),
+                new Update().unset("userList").set("participantCount", (int) participantCount), TOURNAMENT_COLLECTION);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.config.security;
+
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal of an authenticated request. It carries the user's id next to the username and roles, so resolvers
+ * that act on the caller's own data do not have to look the user up first. The password is only present while a
+ * login is being checked.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails, CredentialsContainer, Principal {
+
+    private final String userId;
+
+    private final String username;
+
+    private String password;
+
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public AuthenticatedUser(String userId, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * @return the id carried by the authentication's principal, or {@code null} if it was authenticated without one,
+     * for example with a token issued before the id claim existed
+     */
+    public static String idOf(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser) {
+            return ((AuthenticatedUser) authentication.getPrincipal()).getUserId();
+        }
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of already verified bearer tokens, keyed by the SHA-256 of the token.
+ * Every entry expires at the token's own {@code exp} claim, so a cached token is never accepted for longer than
+ * the decoder would accept it.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final Cache<String, CachedAuthentication> cache;
+
+    @Autowired
+    public JwtAuthenticationCache(@Value("${app.jwt.cache.maximum-size:10000}") long maximumSize) {
+        this(maximumSize, Ticker.systemTicker());
+    }
+
+    public JwtAuthenticationCache(long maximumSize, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, CachedAuthentication>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+                        return value.getTimeToLive().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                        return value.getTimeToLive().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return the authentication built for this token by an earlier request, or {@code null} if it is not cached
+     */
+    public Authentication get(String token) {
+        CachedAuthentication cached = cache.getIfPresent(hash(token));
+        return cached == null ? null : cached.getAuthentication();
+    }
+
+    public void put(String token, Authentication authentication, Instant expiresAt) {
+        if (expiresAt == null) {
+            return;
+        }
+        Duration timeToLive = Duration.between(Instant.now(), expiresAt);
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            return;
+        }
+        cache.put(hash(token), new CachedAuthentication(authentication, timeToLive));
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedAuthentication {
+        private final Authentication authentication;
+        private final Duration timeToLive;
+
+        private CachedAuthentication(Authentication authentication, Duration timeToLive) {
+            this.authentication = authentication;
+            this.timeToLive = timeToLive;
+        }
+
+        Authentication getAuthentication() {
+            return authentication;
+        }
+
+        Duration getTimeToLive() {
+            return timeToLive;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.example.config.security;
 import lombok.RequiredArgsConstructor;
 import org.example.config.security.filter.CustomAuthenticationFilter;
 import org.example.config.security.filter.CustomAuthorizationFilter;
+import org.example.service.PasswordHashingService;
+import org.example.service.RefreshTokenService;
 import org.example.service.TokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +16,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -24,34 +25,40 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final TokenService tokenService;
-    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingService passwordHashingService;
     private final UserDetailsService userDetailsService;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     @Bean
     public AuthenticationManager authenticationManager(UserDetailsService userDetailsService) {
         DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
         dao.setUserDetailsService(userDetailsService);
-        dao.setPasswordEncoder(passwordEncoder);
+        dao.setPasswordEncoder(passwordHashingService.asPasswordEncoder());
         return new ProviderManager(dao);
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        CustomAuthenticationFilter customAuthenticationFilter = new CustomAuthenticationFilter(authenticationManager(userDetailsService), tokenService);
+        CustomAuthenticationFilter customAuthenticationFilter = new CustomAuthenticationFilter(authenticationManager(userDetailsService), refreshTokenService);
         customAuthenticationFilter.setFilterProcessesUrl("/api/login");
 //        customAuthenticationFilter.setFilterProcessesUrl("/graphql");
 
         http.csrf().disable();
         http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
         http.authorizeRequests().antMatchers("/graphiql**").permitAll();
-        http.authorizeRequests().antMatchers("/graphql**").permitAll();
+        http.authorizeRequests().antMatchers("/graphql**", "/graphql/stream").permitAll();
         http.authorizeRequests().antMatchers("/subscriptions**").permitAll();
         http.authorizeRequests().antMatchers("/vendor**").permitAll();
         http.authorizeRequests().antMatchers("/api/login/**").permitAll();
+        http.authorizeRequests().antMatchers("/api/token/refresh", "/api/token/revoke").permitAll();
+        // the scrape endpoint is open to the Prometheus server; move it to management.server.port to keep it off the public port
+        http.authorizeRequests().antMatchers("/actuator/health", "/actuator/prometheus").permitAll();
+        http.authorizeRequests().antMatchers("/actuator/**").hasAuthority("ROLE_ADMIN");
 //        http.authorizeRequests().antMatchers("/api/user/register").permitAll();
         http.authorizeRequests().anyRequest().authenticated();
         http.addFilter(customAuthenticationFilter);
-        http.addFilterBefore(new CustomAuthorizationFilter(tokenService), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(new CustomAuthorizationFilter(tokenService, jwtAuthenticationCache), UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
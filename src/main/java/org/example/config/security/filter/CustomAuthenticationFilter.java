@@ -3,7 +3,8 @@ package org.example.config.security.filter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.service.TokenService;
+import org.example.error.PasswordHashingBusyException;
+import org.example.service.RefreshTokenService;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -15,9 +16,10 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @Slf4j
@@ -25,7 +27,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
     private final AuthenticationManager authenticationManager;
 
-    private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
 
 
     @Override
@@ -34,15 +36,28 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
         String password = request.getParameter("password");
 
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username, password);
-        return authenticationManager.authenticate(authenticationToken);
+        try {
+            return authenticationManager.authenticate(authenticationToken);
+        } catch (PasswordHashingBusyException e) {
+            rejectAsBusy(response, e);
+            return null;
+        }
+    }
+
+    private void rejectAsBusy(HttpServletResponse response, PasswordHashingBusyException e) {
+        try {
+            response.setStatus(SERVICE_UNAVAILABLE.value());
+            response.setHeader(RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            response.setContentType(APPLICATION_JSON_VALUE);
+            new ObjectMapper().writeValue(response.getOutputStream(), Map.of("error_message", e.getMessage()));
+        } catch (IOException ioException) {
+            log.error("Error writing busy response: {}", ioException.getMessage());
+        }
     }
 
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Authentication authentication) throws IOException, ServletException {
-//        User user = (User) authentication.getPrincipal();
-        Map<String, String> tokens = new HashMap<>();
-        tokens.put("access_token", tokenService.generateToken(authentication, 15));
-//        tokens.put("refresh_token", tokenService.generateToken(authentication, 500));
+        Map<String, String> tokens = refreshTokenService.issueTokens(authentication);
         response.setContentType(APPLICATION_JSON_VALUE);
         new ObjectMapper().writeValue(response.getOutputStream(), tokens);
     }
@@ -3,6 +3,8 @@ package org.example.config.security.filter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.config.security.AuthenticatedUser;
+import org.example.config.security.JwtAuthenticationCache;
 import org.example.service.TokenService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -34,10 +36,13 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
 
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         log.info("Request path {} : ", request.getServletPath());
-        if (request.getServletPath().equals("/api/login") || request.getServletPath().equals("/api/user/register") || request.getServletPath().equals("/graphiql") || request.getServletPath().equals("/graphql")) {
+        if (request.getServletPath().equals("/api/login") || request.getServletPath().equals("/api/user/register") || request.getServletPath().equals("/graphiql")
+                || request.getServletPath().equals("/api/token/refresh") || request.getServletPath().equals("/api/token/revoke")) {
             filterChain.doFilter(request, response);
         } else {
             String authorizationHeader = request.getHeader(AUTHORIZATION);
@@ -46,8 +51,13 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
             } else if (authorizationHeader.startsWith("Bearer ")) {
                 try {
                     String token = authorizationHeader.substring("Bearer ".length());
-                    Jwt jwt = tokenService.verifyToken(token);
-                    SecurityContextHolder.getContext().setAuthentication(createAuthentication(jwt.getClaims()));
+                    Authentication authentication = jwtAuthenticationCache.get(token);
+                    if (authentication == null) {
+                        Jwt jwt = tokenService.verifyToken(token);
+                        authentication = createAuthentication(jwt.getClaims());
+                        jwtAuthenticationCache.put(token, authentication, jwt.getExpiresAt());
+                    }
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
                     filterChain.doFilter(request, response);
                 } catch (Exception e) {
                     log.error("Error logging in: {}", e.getMessage());
@@ -64,8 +74,13 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
         }
     }
 
-    private Authentication createAuthentication(Map<String, Object> claims) {
+    public static Authentication createAuthentication(Map<String, Object> claims) {
         List<SimpleGrantedAuthority> authorities = Arrays.stream(claims.get("roles").toString().split(" ")).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
-        return new UsernamePasswordAuthenticationToken(claims.get("sub"), null, authorities);
+        Object userId = claims.get("uid");
+        if (userId == null) {
+            return new UsernamePasswordAuthenticationToken(claims.get("sub"), null, authorities);
+        }
+        AuthenticatedUser principal = new AuthenticatedUser(userId.toString(), claims.get("sub").toString(), null, authorities);
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
     }
 }
@@ -0,0 +1,69 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.error.InvalidExportRequestException;
+import org.example.error.InvalidTournamentFilterException;
+import org.example.model.ExportFormat;
+import org.example.model.TournamentFilter;
+import org.example.model.UserFilter;
+import org.example.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reporting exports of whole collections, e.g. {@code /api/admin/export/tournaments?format=csv&fields=id,name&game=Chess}.
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/users")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> users(@RequestParam(defaultValue = "ndjson") String format,
+                                                       @RequestParam(required = false) List<String> fields, UserFilter filter) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return attachment("users", exportService.exportUsers(filter, fields, exportFormat));
+    }
+
+    @GetMapping("/tournaments")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> tournaments(@RequestParam(defaultValue = "ndjson") String format,
+                                                             @RequestParam(required = false) List<String> fields, TournamentFilter filter) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return attachment("tournaments", exportService.exportTournaments(filter, fields, exportFormat));
+    }
+
+    @ExceptionHandler({InvalidExportRequestException.class, InvalidTournamentFilterException.class})
+    public ResponseEntity<Map<String, String>> invalidExportRequest(RuntimeException e) {
+        log.error("Error exporting: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error_message", e.getMessage()));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, ExportService.Export export) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.getFormat().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + export.getFormat().getExtension())
+                        .build()
+                        .toString())
+                .body(export::writeTo);
+    }
+}
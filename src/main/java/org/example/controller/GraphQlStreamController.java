@@ -0,0 +1,59 @@
+package org.example.controller;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.graphql.execution.SubscriptionPublisherException;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Executes a GraphQL subscription over plain HTTP and writes every event as one line of newline delimited JSON, with
+ * chunked transfer encoding. The stream fields ({@code streamUsers}, {@code streamTournaments}) emit their lists in
+ * batches, so a response is written while the cursor is still being read and never held in memory as a whole.
+ * Queries and mutations are answered with a single line.
+ */
+@RestController
+@RequiredArgsConstructor
+public class GraphQlStreamController {
+
+    private final WebGraphQlHandler webGraphQlHandler;
+
+    @PostMapping(path = "/graphql/stream", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @SuppressWarnings("unchecked")
+    public Flux<Map<String, Object>> stream(@RequestBody Map<String, Object> body, @RequestHeader HttpHeaders headers) {
+        if (!(body.get("query") instanceof String) || !StringUtils.hasText((String) body.get("query"))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No \"query\" in the request document");
+        }
+        WebGraphQlRequest request = new WebGraphQlRequest(ServletUriComponentsBuilder.fromCurrentRequest().build().toUri(),
+                headers, body, ObjectUtils.identityToString(body), LocaleContextHolder.getLocale());
+        return webGraphQlHandler.handleRequest(request).flatMapMany(response -> {
+            Object data = response.getExecutionResult().getData();
+            if (!(data instanceof Publisher)) {
+                return Flux.just(response.toMap());
+            }
+            return Flux.from((Publisher<ExecutionResult>) data)
+                    .map(ExecutionResult::toSpecification)
+                    // the events already written stay valid, the failure is reported as the last line
+                    .onErrorResume(SubscriptionPublisherException.class, e -> Flux.just(Map.of("errors",
+                            e.getErrors().stream().map(GraphQLError::toSpecification).collect(Collectors.toList()))));
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.error.InvalidRefreshTokenException;
+import org.example.service.RefreshTokenService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/token")
+@RequiredArgsConstructor
+@Slf4j
+public class TokenController {
+
+    private final RefreshTokenService refreshTokenService;
+
+    @PostMapping("/refresh")
+    public Map<String, String> refresh(@RequestParam(name = "refresh_token", required = false) String refreshToken) {
+        return refreshTokenService.refresh(refreshToken);
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestParam(name = "refresh_token", required = false) String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<Map<String, String>> invalidRefreshToken(InvalidRefreshTokenException e) {
+        log.error("Error refreshing token: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error_message", e.getMessage()));
+    }
+}
@@ -1,89 +1,220 @@
 package org.example.controller;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.mapper.TournamentMapper;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.dataloader.DataLoader;
+import org.example.config.security.AuthenticatedUser;
+import org.example.error.WrongUserException;
+import org.example.graphql.StreamBatches;
+import org.example.graphql.TournamentProjection;
+import org.example.model.Connection;
 import org.example.model.CreateTournamentInput;
+import org.example.model.Edge;
 import org.example.model.EditTournamentInput;
+import org.example.model.JoinStatus;
+import org.example.model.TeamMemberJoinResult;
+import org.example.model.TournamentFilter;
+import org.example.model.TournamentImportResult;
+import org.example.model.TournamentRosterChange;
 import org.example.model.entity.Tournament;
+import org.example.model.entity.TournamentMembership;
 import org.example.model.entity.User;
+import org.example.service.TournamentEventPublisher;
+import org.example.service.TournamentMembershipService;
+import org.example.service.TournamentQueryService;
 import org.example.service.TournamentService;
+import org.example.service.UserQueryService;
 import org.example.service.UserService;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Controller;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Controller
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class TournamentController {
+    private static final String PARTICIPANTS_LOADER = "participantsByTournament";
+
     private final TournamentService tournamentService;
 
     private final UserService userService;
 
+    private final TournamentQueryService tournamentQueryService;
+
+    private final TournamentEventPublisher tournamentEventPublisher;
+
+    private final TournamentMembershipService tournamentMembershipService;
+
+    public TournamentController(TournamentService tournamentService, UserService userService, TournamentQueryService tournamentQueryService,
+                                UserQueryService userQueryService, TournamentEventPublisher tournamentEventPublisher,
+                                TournamentMembershipService tournamentMembershipService, BatchLoaderRegistry batchLoaderRegistry) {
+        this.tournamentService = tournamentService;
+        this.userService = userService;
+        this.tournamentQueryService = tournamentQueryService;
+        this.tournamentEventPublisher = tournamentEventPublisher;
+        this.tournamentMembershipService = tournamentMembershipService;
+        // one $in query per level of the selection set for every owner/participant requested
+        batchLoaderRegistry.forTypePair(String.class, User.class)
+                .registerMappedBatchLoader((userIds, environment) -> userQueryService.getUsersByIds(userIds)
+                        .collectMap(User::getId, Function.identity()));
+        // the page size of each roster is its key context, so a roster requested twice with different sizes is not cached
+        batchLoaderRegistry.<String, Connection<TournamentMembership>>forName(PARTICIPANTS_LOADER)
+                .withOptions(options -> options.setCachingEnabled(false))
+                .registerBatchLoader((tournamentIds, environment) -> {
+                    List<Object> pageSizes = environment.getKeyContextsList();
+                    int limit = pageSizes.stream().mapToInt(Integer.class::cast).max().orElse(0) + 1;
+                    return tournamentQueryService.getRosters(Set.copyOf(tournamentIds), limit)
+                            .flatMapIterable(rosters -> IntStream.range(0, tournamentIds.size())
+                                    .mapToObj(i -> TournamentService.toConnection(rosters.getOrDefault(tournamentIds.get(i), List.of()),
+                                            (Integer) pageSizes.get(i), TournamentMembership::getId))
+                                    .collect(Collectors.toList()));
+                });
+    }
 
     @QueryMapping
-    List<Tournament> tournaments() {
-        return tournamentService.getTournaments();
+    Mono<Connection<Tournament>> tournaments(@Argument Integer first, @Argument String after, @Argument TournamentFilter filter,
+                                              DataFetchingFieldSelectionSet selectionSet) {
+        return tournamentQueryService.getTournaments(first, after, filter, TournamentProjection.ofConnection(selectionSet));
     }
 
     //
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
-    List<Tournament> joinedTournaments(Authentication authentication) {
-        return tournamentService.joinedTournaments(userService.getUser(authentication.getName()).getId());
+    Mono<Connection<Tournament>> joinedTournaments(@Argument Integer first, @Argument String after, Authentication authentication,
+                                                   DataFetchingFieldSelectionSet selectionSet) {
+        return tournamentQueryService.joinedTournaments(userId(authentication), first, after, TournamentProjection.ofConnection(selectionSet));
     }
 
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
-    List<Tournament> createdTournaments(Authentication authentication) {
-        return tournamentService.createdTournaments(userService.getUser(authentication.getName()).getId());
+    Flux<Tournament> createdTournaments(Authentication authentication, DataFetchingFieldSelectionSet selectionSet) {
+        return tournamentQueryService.createdTournaments(userId(authentication), TournamentProjection.ofNodes(selectionSet));
     }
 
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
     public Tournament createTournament(@Argument CreateTournamentInput createTournamentInput, Authentication authentication) {
-        User user = userService.getUser(authentication.getName());
-        Tournament tournamentEntity = tournamentService.createTournament(createTournamentInput, user.getId());
-        userService.addTournamentIdToUser(tournamentEntity, user);
-        return tournamentEntity;
+        return tournamentService.createTournament(createTournamentInput, userId(authentication));
+    }
+
+    @MutationMapping
+    @PreAuthorize("isAuthenticated()")
+    public List<TournamentImportResult> createTournaments(@Argument List<CreateTournamentInput> inputs, Authentication authentication) {
+        return tournamentService.createTournaments(inputs, userId(authentication));
     }
 
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
-    @Transactional
     public Tournament joinTournament(@Argument String tournamentId, Authentication authentication) {
-        User user = userService.getUser(authentication.getName());
-        Tournament tournament = tournamentService.joinTournament(tournamentService.getTournament(tournamentId), user);
-        userService.addTournamentIdToUser(tournament, user);
-        return tournament;
+        return tournamentMembershipService.joinTournament(tournamentId, userId(authentication));
     }
 
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
-    public Tournament unjoinTournament(@Argument String tournamentId, Authentication authentication) {
-        User user = userService.getUser(authentication.getName());
-        Tournament tournament = tournamentService.unjoinTournament(tournamentService.getTournament(tournamentId), user);
-        userService.removeTournamentIdFromUser(tournament, user);
+    public List<TeamMemberJoinResult> joinTournamentAsTeam(@Argument String tournamentId, @Argument List<String> usernames, Authentication authentication) {
+        if (!usernames.contains(authentication.getName())) {
+            log.error("You can only register a team you are part of!");
+            throw new WrongUserException("You can only register a team you are part of!");
+        }
+        Map<String, String> userIds = userService.getUsersByUsernames(usernames).stream()
+                .collect(Collectors.toMap(User::getUsername, User::getId));
+        Map<String, JoinStatus> statuses = tournamentMembershipService.joinTournamentAsTeam(tournamentId, userIds.values());
+        return usernames.stream()
+                .distinct()
+                .map(username -> new TeamMemberJoinResult(username,
+                        userIds.containsKey(username) ? statuses.get(userIds.get(username)) : JoinStatus.USER_NOT_FOUND))
+                .collect(Collectors.toList());
+    }
 
-        return tournament;
+    @MutationMapping
+    @PreAuthorize("isAuthenticated()")
+    public Tournament unjoinTournament(@Argument String tournamentId, Authentication authentication) {
+        return tournamentMembershipService.unjoinTournament(tournamentId, userId(authentication));
     }
 
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
     public Tournament editTournament(@Argument EditTournamentInput editTournamentInput, Authentication authentication) {
-        return tournamentService
-                .editTournament
-                        (TournamentMapper.INSTANCE
-                                        .editTournamentInputToTournament(editTournamentInput, tournamentService.getTournament(editTournamentInput.getId())),
-                                userService.getUser(authentication.getName()).getId());
+        return tournamentService.editTournament(editTournamentInput, userId(authentication));
+    }
+
+    @SubscriptionMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public Flux<List<Tournament>> streamTournaments(@Argument TournamentFilter filter, @Argument Integer batchSize,
+                                                    DataFetchingFieldSelectionSet selectionSet, DataLoader<String, User> userLoader) {
+        Flux<List<Tournament>> batches = StreamBatches.of(
+                tournamentQueryService.streamTournaments(filter, TournamentProjection.ofNodes(selectionSet)), batchSize);
+        return selectionSet.contains("owner") ? StreamBatches.prefetch(batches, userLoader, Tournament::getOwnerId) : batches;
+    }
+
+    @SubscriptionMapping
+    @PreAuthorize("isAuthenticated()")
+    Flux<Tournament> tournamentUpdated(@Argument String id) {
+        return tournamentEventPublisher.changes(id);
+    }
+
+    @SubscriptionMapping
+    @PreAuthorize("isAuthenticated()")
+    Flux<TournamentRosterChange> tournamentRosterChanged(@Argument String id) {
+        return tournamentEventPublisher.changes(id)
+                .map(tournament -> new TournamentRosterChange(tournament.getId(), tournament.getParticipantCount(),
+                        tournament.getMaxParticipants()))
+                .distinctUntilChanged();
+    }
+
+    @SchemaMapping
+    CompletableFuture<User> owner(Tournament tournament, DataLoader<String, User> userLoader) {
+        if (tournament.getOwnerId() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return userLoader.load(tournament.getOwnerId());
+    }
+
+    /**
+     * The first pages of all requested rosters are read with one query, and their users are then loaded together.
+     * Later pages, requested with an {@code after} cursor, are read one roster at a time.
+     */
+    @SchemaMapping
+    CompletableFuture<Connection<TournamentMembership>> participants(Tournament tournament, @Argument Integer first, @Argument String after,
+                                                                     DataFetchingEnvironment environment) {
+        if (after != null) {
+            return tournamentQueryService.getParticipants(tournament.getId(), first, after).toFuture();
+        }
+        DataLoader<String, Connection<TournamentMembership>> participantsLoader = environment.getDataLoader(PARTICIPANTS_LOADER);
+        return participantsLoader.load(tournament.getId(), TournamentService.pageSize(first));
+    }
+
+    @SchemaMapping(typeName = "ParticipantEdge")
+    CompletableFuture<User> node(Edge<TournamentMembership> edge, DataLoader<String, User> userLoader) {
+        return userLoader.load(edge.getNode().getUserId());
+    }
+
+    @SchemaMapping(typeName = "ParticipantEdge")
+    String joinedAt(Edge<TournamentMembership> edge) {
+        return edge.getNode().getJoinedAt() == null ? null : edge.getNode().getJoinedAt().toString();
+    }
+
+    private String userId(Authentication authentication) {
+        String userId = AuthenticatedUser.idOf(authentication);
+        // tokens issued before the uid claim existed only carry the username
+        return userId != null ? userId : userService.getUserId(authentication.getName());
     }
 }
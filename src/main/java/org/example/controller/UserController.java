@@ -1,48 +1,97 @@
 package org.example.controller;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
+import org.example.graphql.StreamBatches;
 import org.example.mapper.UserMapper;
 import org.example.model.EditUserInput;
 import org.example.model.RegisterUserInput;
+import org.example.model.entity.Tournament;
 import org.example.model.entity.User;
+import org.example.service.TournamentQueryService;
+import org.example.service.UserQueryService;
 import org.example.service.UserService;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 @Controller
-@RequiredArgsConstructor
 @Slf4j
 public class UserController {
+    private static final String TOURNAMENTS_BY_USER_LOADER = "tournamentsByUser";
+
     private final UserService userService;
 
+    private final UserQueryService userQueryService;
+
+    public UserController(UserService userService, UserQueryService userQueryService, TournamentQueryService tournamentQueryService,
+                          BatchLoaderRegistry batchLoaderRegistry) {
+        this.userService = userService;
+        this.userQueryService = userQueryService;
+        // created and joined tournaments of every requested user with one membership and two tournament queries
+        batchLoaderRegistry.<String, List<Tournament>>forName(TOURNAMENTS_BY_USER_LOADER)
+                .registerMappedBatchLoader((userIds, environment) -> tournamentQueryService.getTournamentsByUserIds(userIds));
+    }
+
     @QueryMapping
     public String hello(){
         return "Hello";
     }
 
     @QueryMapping
-    public List<User> getUsers(){
-        return userService.getUsers();
+    public Flux<User> getUsers(){
+        return userQueryService.getUsers();
+    }
+
+    /**
+     * {@code getUsers} in batches read off an open cursor, served over {@code /graphql/stream} and the websocket.
+     * The users carry their password hashes, so like the other exports this is for admins only.
+     */
+    @SubscriptionMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public Flux<List<User>> streamUsers(@Argument Integer batchSize, DataFetchingEnvironment environment){
+        Flux<List<User>> batches = StreamBatches.of(userQueryService.streamUsers(), batchSize);
+        if (!environment.getSelectionSet().contains("tournaments") && !environment.getSelectionSet().contains("tournamentId")) {
+            return batches;
+        }
+        return StreamBatches.prefetch(batches, environment.getDataLoader(TOURNAMENTS_BY_USER_LOADER), User::getId);
     }
 
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
-    public User editUser(@Argument EditUserInput editUserInput, Authentication authentication){
+    public CompletableFuture<User> editUser(@Argument EditUserInput editUserInput, Authentication authentication){
         return userService.editUser(editUserInput, authentication.getName());
     }
 
     @MutationMapping
-    public User registerUser(@Argument RegisterUserInput registerUserInput){
-        return userService.createUser(UserMapper.INSTANCE.registerUserInputToUser(registerUserInput));
+    public CompletableFuture<User> registerUser(@Argument RegisterUserInput registerUserInput){
+        return userService.createUserAsync(UserMapper.INSTANCE.registerUserInputToUser(registerUserInput));
+    }
+
+    @SchemaMapping
+    public CompletableFuture<List<Tournament>> tournaments(User user, DataFetchingEnvironment environment) {
+        DataLoader<String, List<Tournament>> tournamentLoader = environment.getDataLoader(TOURNAMENTS_BY_USER_LOADER);
+        return tournamentLoader.load(user.getId()).thenApply(tournaments -> tournaments == null ? List.of() : tournaments);
+    }
+
+    @SchemaMapping
+    public CompletableFuture<List<String>> tournamentId(User user, DataFetchingEnvironment environment) {
+        return tournaments(user, environment)
+                .thenApply(tournaments -> tournaments.stream().map(Tournament::getId).collect(Collectors.toList()));
     }
 
 }
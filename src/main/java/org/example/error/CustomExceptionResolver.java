@@ -3,7 +3,11 @@ package org.example.error;
 import graphql.GraphQLError;
 import graphql.GraphqlErrorBuilder;
 import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
 import org.springframework.graphql.execution.ErrorType;
 import org.springframework.stereotype.Component;
@@ -11,8 +15,26 @@ import org.springframework.stereotype.Component;
 @Component
 public class CustomExceptionResolver extends DataFetcherExceptionResolverAdapter {
 
+    private final MeterRegistry meterRegistry;
+
+    public CustomExceptionResolver(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
     @Override
     protected GraphQLError resolveToSingleError(@NotNull Throwable ex, @NotNull DataFetchingEnvironment env) {
+        GraphQLError error = toGraphQLError(ex, env);
+        // exceptions left to the other resolvers are counted as OTHER
+        Counter.builder("graphql.errors")
+                .description("Exceptions thrown by GraphQL resolvers, by error category")
+                .tag("category", error != null ? error.getErrorType().toString() : "OTHER")
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        return error;
+    }
+
+    private GraphQLError toGraphQLError(Throwable ex, DataFetchingEnvironment env) {
         if (ex instanceof UserNotFoundException) {
             return GraphqlErrorBuilder.newError()
                     .errorType(ErrorType.NOT_FOUND)
@@ -37,6 +59,14 @@ public class CustomExceptionResolver extends DataFetcherExceptionResolverAdapter
                     .extensions(((UserAlreadyJoinException) ex).getExtensions())
                     .location(env.getField().getSourceLocation())
                     .build();
+        } else if (ex instanceof TournamentFullException) {
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .extensions(((TournamentFullException) ex).getExtensions())
+                    .location(env.getField().getSourceLocation())
+                    .build();
         } else if (ex instanceof UserDidNotJoinException) {
             return GraphqlErrorBuilder.newError()
                     .errorType(ErrorType.BAD_REQUEST)
@@ -45,6 +75,38 @@ public class CustomExceptionResolver extends DataFetcherExceptionResolverAdapter
                     .extensions(((UserDidNotJoinException) ex).getExtensions())
                     .location(env.getField().getSourceLocation())
                     .build();
+        } else if (ex instanceof InvalidCursorException) {
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .extensions(((InvalidCursorException) ex).getExtensions())
+                    .location(env.getField().getSourceLocation())
+                    .build();
+        } else if (ex instanceof InvalidTournamentFilterException) {
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .extensions(((InvalidTournamentFilterException) ex).getExtensions())
+                    .location(env.getField().getSourceLocation())
+                    .build();
+        } else if (ex instanceof InvalidTournamentInputException) {
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .extensions(((InvalidTournamentInputException) ex).getExtensions())
+                    .location(env.getField().getSourceLocation())
+                    .build();
+        } else if (ex instanceof PasswordHashingBusyException) {
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.INTERNAL_ERROR)
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .extensions(((PasswordHashingBusyException) ex).getExtensions())
+                    .location(env.getField().getSourceLocation())
+                    .build();
         } else if (ex instanceof UserAlreadyExistsException) {
             return GraphqlErrorBuilder.newError()
                     .errorType(ErrorType.BAD_REQUEST)
@@ -0,0 +1,45 @@
+package org.example.error;
+
+import graphql.ErrorClassification;
+import graphql.ErrorType;
+import graphql.GraphQLError;
+import graphql.language.SourceLocation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class InvalidTournamentFilterException extends RuntimeException implements GraphQLError {
+
+    private final String invalidField;
+
+    public InvalidTournamentFilterException(String message, String invalidField) {
+        super(message);
+        this.invalidField = invalidField;
+    }
+
+    @Override
+    public String getMessage() {
+        return super.getMessage();
+    }
+
+    @Override
+    public List<Object> getPath() {
+        return null;
+    }
+
+    @Override
+    public List<SourceLocation> getLocations() {
+        return null;
+    }
+
+    @Override
+    public ErrorClassification getErrorType() {
+        return ErrorType.ValidationError;
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        return Collections.singletonMap("invalidField", invalidField);
+    }
+}
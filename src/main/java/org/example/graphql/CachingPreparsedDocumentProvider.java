@@ -0,0 +1,101 @@
+package org.example.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of parsed and validated documents keyed by query text, plus Automatic Persisted Queries: requests
+ * carrying an Apollo {@code persistedQuery} extension are resolved by their sha256 hash, and the full text is only
+ * needed the first time a hash is seen.
+ */
+@Component
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider, GraphQlSourceBuilderCustomizer {
+
+    private final Cache<String, PreparsedDocumentEntry> documentsByQuery;
+
+    private final Cache<Object, PreparsedDocumentEntry> documentsByHash;
+
+    private final ApolloPersistedQuerySupport persistedQuerySupport = new ApolloPersistedQuerySupport(this::getPersistedQueryDocument);
+
+    public CachingPreparsedDocumentProvider(@Value("${app.graphql.document-cache.maximum-size:1000}") long documentCacheSize,
+                                            @Value("${app.graphql.persisted-queries.maximum-size:1000}") long persistedQueryCacheSize) {
+        this.documentsByQuery = Caffeine.newBuilder().maximumSize(documentCacheSize).build();
+        this.documentsByHash = Caffeine.newBuilder().maximumSize(persistedQueryCacheSize).build();
+    }
+
+    @Override
+    public void customize(GraphQlSource.SchemaResourceBuilder builder) {
+        builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(this));
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (executionInput.getExtensions() != null && executionInput.getExtensions().containsKey("persistedQuery")) {
+            return persistedQuerySupport.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        return CompletableFuture.completedFuture(
+                documentsByQuery.get(executionInput.getQuery(), query -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    /**
+     * Still abstract in graphql-java 19, which only calls {@link #getDocumentAsync}.
+     */
+    @Override
+    @Deprecated
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction).join();
+    }
+
+    public long size() {
+        documentsByQuery.cleanUp();
+        return documentsByQuery.estimatedSize();
+    }
+
+    private PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) {
+        PreparsedDocumentEntry entry = documentsByHash.getIfPresent(persistedQueryId);
+        if (entry != null) {
+            return entry;
+        }
+        String query = executionInput.getQuery();
+        if (!StringUtils.hasText(query) || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        // the query may already be cached from a plain request, in which case onCacheMiss and its hash check are skipped
+        if (!sha256(query).equals(persistedQueryId.toString().toLowerCase(Locale.ROOT))) {
+            throw new PersistedQueryIdInvalid(persistedQueryId);
+        }
+        entry = documentsByQuery.get(query, onCacheMiss::apply);
+        documentsByHash.put(persistedQueryId, entry);
+        return entry;
+    }
+
+    static String sha256(String query) {
+        try {
+            return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.graphql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "app.graphql.instrumentation")
+@Getter
+@Setter
+public class GraphQlInstrumentationProperties {
+
+    /**
+     * Fraction of operations, between 0 and 1, for which per-field timings and result sizes are recorded.
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * Operations taking at least this long are logged with their query hash and redacted variables.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Variable names, matched case-insensitively at any depth, whose values are never logged.
+     */
+    private Set<String> redactedVariables = new HashSet<>(Set.of("password", "token", "accessToken", "refreshToken"));
+
+    /**
+     * Operation names recorded as the {@code operation} tag of {@code graphql.operation}; any other named operation is
+     * recorded as {@code other}, so clients cannot add tag values.
+     */
+    private Set<String> taggedOperations = new HashSet<>();
+
+}
@@ -0,0 +1,134 @@
+package org.example.graphql;
+
+import graphql.ExecutionResult;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.validation.ValidationError;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforces query depth and complexity limits through graphql-java's {@link MaxQueryDepthInstrumentation} and
+ * {@link MaxQueryComplexityInstrumentation}, choosing the limits from the caller's roles. Introspection-only
+ * operations, such as the one GraphiQL sends on load, get the separate introspection limits instead, which are
+ * deeper than the defaults but still bounded, as nested introspection is a cheap way to exhaust the server.
+ */
+@Component
+public class QueryLimitsInstrumentation extends SimpleInstrumentation {
+
+    private final Map<String, Integer> fieldWeights;
+
+    private final Map<String, QueryLimitsProperties.Limit> limitsByRole;
+
+    private final Tier defaultTier;
+
+    private final Tier introspectionTier;
+
+    private final Map<String, Tier> tiersByRole = new HashMap<>();
+
+    public QueryLimitsInstrumentation(QueryLimitsProperties properties) {
+        this.fieldWeights = Map.copyOf(properties.getFieldWeights());
+        this.limitsByRole = Map.copyOf(properties.getRoles());
+        this.defaultTier = new Tier(properties.getDefaults(), this::calculateComplexity);
+        this.introspectionTier = new Tier(properties.getIntrospection(), this::calculateComplexity);
+        limitsByRole.forEach((role, limit) -> tiersByRole.put(role, new Tier(limit, this::calculateComplexity)));
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        Tier tier = currentTier();
+        return new QueryLimitsState(tier, tier.complexity.createState(parameters), introspectionTier.complexity.createState(parameters));
+    }
+
+    @NotNull
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters,
+                                                                         InstrumentationState state) {
+        // the operation is not known before execution, so both complexity limits see the validated document
+        QueryLimitsState queryLimitsState = (QueryLimitsState) state;
+        introspectionTier.complexity.beginValidation(parameters, queryLimitsState.introspectionComplexityState);
+        return queryLimitsState.tier.complexity.beginValidation(parameters, queryLimitsState.complexityState);
+    }
+
+    @NotNull
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        QueryLimitsState queryLimitsState = (QueryLimitsState) state;
+        if (isIntrospectionOnly(parameters.getExecutionContext().getOperationDefinition())) {
+            introspectionTier.depth.beginExecuteOperation(parameters, null);
+            return introspectionTier.complexity.beginExecuteOperation(parameters, queryLimitsState.introspectionComplexityState);
+        }
+        queryLimitsState.tier.depth.beginExecuteOperation(parameters, null);
+        return queryLimitsState.tier.complexity.beginExecuteOperation(parameters, queryLimitsState.complexityState);
+    }
+
+    private Tier currentTier() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return defaultTier;
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(tiersByRole::containsKey)
+                .max(Comparator.comparingInt((String role) -> limitsByRole.get(role).getMaxComplexity())
+                        .thenComparingInt(role -> limitsByRole.get(role).getMaxDepth()))
+                .map(tiersByRole::get)
+                .orElse(defaultTier);
+    }
+
+    private int calculateComplexity(FieldComplexityEnvironment environment, int childComplexity) {
+        Integer weight = fieldWeights.get(environment.getParentType().getName() + "." + environment.getFieldDefinition().getName());
+        if (weight == null) {
+            return 1 + childComplexity;
+        }
+        Object first = environment.getArguments().get("first");
+        int multiplier = first instanceof Integer ? Math.max(1, (Integer) first) : weight;
+        return 1 + childComplexity * multiplier;
+    }
+
+    private static boolean isIntrospectionOnly(OperationDefinition operation) {
+        return operation.getSelectionSet().getSelections().stream()
+                .allMatch(selection -> selection instanceof Field && ((Field) selection).getName().startsWith("__"));
+    }
+
+    private static class Tier {
+        private final MaxQueryDepthInstrumentation depth;
+        private final MaxQueryComplexityInstrumentation complexity;
+
+        Tier(QueryLimitsProperties.Limit limit, FieldComplexityCalculator calculator) {
+            this.depth = new MaxQueryDepthInstrumentation(limit.getMaxDepth());
+            this.complexity = new MaxQueryComplexityInstrumentation(limit.getMaxComplexity(), calculator);
+        }
+    }
+
+    private static class QueryLimitsState implements InstrumentationState {
+        private final Tier tier;
+        private final InstrumentationState complexityState;
+        private final InstrumentationState introspectionComplexityState;
+
+        QueryLimitsState(Tier tier, InstrumentationState complexityState, InstrumentationState introspectionComplexityState) {
+            this.tier = tier;
+            this.complexityState = complexityState;
+            this.introspectionComplexityState = introspectionComplexityState;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.graphql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.graphql.limits")
+@Getter
+@Setter
+public class QueryLimitsProperties {
+
+    /**
+     * Limits for anonymous callers and for callers without a role listed in {@link #roles}.
+     */
+    private Limit defaults = new Limit(8, 1000);
+
+    /**
+     * Limits for operations that only select introspection fields, such as the query GraphiQL sends on load, for
+     * every caller. The standard introspection query needs a depth of 13 and a complexity of 61.
+     */
+    private Limit introspection = new Limit(15, 200);
+
+    /**
+     * Limits by role name; a caller holding several listed roles gets the most permissive one.
+     */
+    private Map<String, Limit> roles = new HashMap<>();
+
+    /**
+     * Expected number of elements for list fields, keyed by {@code Type.field}. The cost of a weighted field's
+     * selection is multiplied by its {@code first} argument when given, otherwise by this weight.
+     */
+    private Map<String, Integer> fieldWeights = new HashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int maxDepth;
+        private int maxComplexity;
+    }
+}
@@ -1,26 +0,0 @@
-package org.example.graphql;
-
-import graphql.ExecutionResult;
-import graphql.execution.instrumentation.InstrumentationContext;
-import graphql.execution.instrumentation.SimpleInstrumentation;
-import graphql.execution.instrumentation.SimpleInstrumentationContext;
-import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
-import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.annotations.NotNull;
-import org.springframework.stereotype.Component;
-
-@Slf4j
-@Component
-public class RequestLoggingInstrumentation extends SimpleInstrumentation {
-    @NotNull
-    @Override
-    public InstrumentationContext<ExecutionResult> beginExecution(
-            InstrumentationExecutionParameters parameters) {
-        log.info("{} Query params : {}", parameters.getQuery(), parameters.getVariables());
-        return SimpleInstrumentationContext.whenCompleted((executionResult, throwable) -> {
-            log.info("result : {}", executionResult.getData()!= null ? executionResult.getData().toString() : null);
-            log.error("error : {}", executionResult.getErrors().toString());
-            log.info("completed");
-        });
-    }
-}
@@ -0,0 +1,216 @@
+package org.example.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLNamedType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.Connection;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records operation and root resolver timings for every request and, for a sampled fraction of requests, per-field
+ * timings and result sizes. Operation names are chosen by clients, so only the configured ones become tag values.
+ * Result data and query text are never logged; slow operations are logged with the sha256 hash of their query, the
+ * same id Apollo persisted queries use, and their redacted variables.
+ */
+@Slf4j
+@Component
+public class RequestMetricsInstrumentation extends SimpleInstrumentation {
+
+    private static final String REDACTED = "***";
+
+    private static final String OTHER_OPERATION = "other";
+
+    private final MeterRegistry meterRegistry;
+
+    private final GraphQlInstrumentationProperties properties;
+
+    private final Set<String> redactedVariables;
+
+    public RequestMetricsInstrumentation(ObjectProvider<MeterRegistry> meterRegistry, GraphQlInstrumentationProperties properties) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.properties = properties;
+        this.redactedVariables = properties.getRedactedVariables().stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new RequestMetricsState(ThreadLocalRandom.current().nextDouble() < properties.getSampleRate());
+    }
+
+    @NotNull
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState instrumentationState) {
+        RequestMetricsState state = (RequestMetricsState) instrumentationState;
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((executionResult, throwable) -> {
+            long duration = System.nanoTime() - start;
+            List<GraphQLError> errors = executionResult != null ? executionResult.getErrors() : List.of();
+            String operationName = state.operationName != null ? state.operationName : "anonymous";
+            String outcome = throwable != null || !errors.isEmpty() ? "ERROR" : "SUCCESS";
+            Timer.builder("graphql.operation")
+                    .description("GraphQL operation execution time")
+                    .tag("operation", operationTag(state.operationName))
+                    .tag("type", state.operationType)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(duration, TimeUnit.NANOSECONDS);
+
+            if (!errors.isEmpty()) {
+                log.warn("GraphQL {} {} completed with errors: {}", state.operationType, operationName,
+                        errors.stream().map(GraphQLError::getMessage).collect(Collectors.toList()));
+            }
+            if (duration >= properties.getSlowThreshold().toNanos()) {
+                log.warn("Slow GraphQL {} {} took {} ms, query {}, variables {}", state.operationType, operationName,
+                        TimeUnit.NANOSECONDS.toMillis(duration), queryHash(parameters.getQuery()),
+                        redact(parameters.getVariables()));
+            }
+        });
+    }
+
+    @NotNull
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState instrumentationState) {
+        RequestMetricsState state = (RequestMetricsState) instrumentationState;
+        OperationDefinition operation = parameters.getExecutionContext().getOperationDefinition();
+        state.operationName = operation.getName();
+        state.operationType = operation.getOperation().name().toLowerCase(Locale.ROOT);
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @NotNull
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+                                                          InstrumentationState instrumentationState) {
+        RequestMetricsState state = (RequestMetricsState) instrumentationState;
+        // root fields are the query and mutation mappings of the controllers, so they are timed on every request
+        boolean root = parameters.getExecutionStepInfo().getPath().getLevel() == 1;
+        boolean sampled = state.sampled && !parameters.isTrivialDataFetcher();
+        if (!root && !sampled) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        String parent = ((GraphQLNamedType) parameters.getExecutionStepInfo().getParent().getUnwrappedNonNullType()).getName();
+        String field = parameters.getExecutionStepInfo().getFieldDefinition().getName();
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            long duration = System.nanoTime() - start;
+            String outcome = throwable != null ? "ERROR" : "SUCCESS";
+            if (root) {
+                Timer.builder("graphql.resolver")
+                        .description("GraphQL root resolver execution time")
+                        .tag("parent", parent)
+                        .tag("field", field)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(duration, TimeUnit.NANOSECONDS);
+            }
+            if (!sampled) {
+                return;
+            }
+            Timer.builder("graphql.field")
+                    .description("Sampled GraphQL field fetch time")
+                    .tag("parent", parent)
+                    .tag("field", field)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(duration, TimeUnit.NANOSECONDS);
+            int size = resultSize(result);
+            if (size >= 0) {
+                DistributionSummary.builder("graphql.field.result.size")
+                        .description("Sampled number of elements returned by list and connection fields")
+                        .tag("parent", parent)
+                        .tag("field", field)
+                        .register(meterRegistry)
+                        .record(size);
+            }
+        });
+    }
+
+    /**
+     * Returns a copy of the variables with the values of configured names replaced, at any depth.
+     */
+    public Map<String, Object> redact(Map<String, Object> variables) {
+        if (variables == null) {
+            return null;
+        }
+        Map<String, Object> redacted = new LinkedHashMap<>();
+        variables.forEach((name, value) -> redacted.put(name, redactedVariables.contains(name.toLowerCase(Locale.ROOT)) ? REDACTED : redactValue(value)));
+        return redacted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object redactValue(Object value) {
+        if (value instanceof Map) {
+            return redact((Map<String, Object>) value);
+        }
+        if (value instanceof Collection) {
+            return ((Collection<Object>) value).stream().map(this::redactValue).collect(Collectors.toList());
+        }
+        return value;
+    }
+
+    private String operationTag(String operationName) {
+        if (operationName == null) {
+            return "anonymous";
+        }
+        return properties.getTaggedOperations().contains(operationName) ? operationName : OTHER_OPERATION;
+    }
+
+    private static String queryHash(String query) {
+        return query != null ? CachingPreparsedDocumentProvider.sha256(query) : null;
+    }
+
+    private static int resultSize(Object result) {
+        if (result instanceof DataFetcherResult) {
+            result = ((DataFetcherResult<?>) result).getData();
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Connection && ((Connection<?>) result).getEdges() != null) {
+            return ((Connection<?>) result).getEdges().size();
+        }
+        return -1;
+    }
+
+    private static class RequestMetricsState implements InstrumentationState {
+        private final boolean sampled;
+        private volatile String operationName;
+        private volatile String operationType = "unknown";
+
+        RequestMetricsState(boolean sampled) {
+            this.sampled = sampled;
+        }
+    }
+}
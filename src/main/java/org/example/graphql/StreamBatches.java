@@ -0,0 +1,55 @@
+package org.example.graphql;
+
+import org.dataloader.DataLoader;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Groups the items of a streamed list field into the batches sent as one event each, so memory per request is
+ * bounded by the batch size instead of the result size.
+ */
+public final class StreamBatches {
+
+    public static final int DEFAULT_SIZE = 100;
+
+    /**
+     * Also the Mongo cursor batch size, so a batch never waits on more than one round trip.
+     */
+    public static final int MAX_SIZE = 500;
+
+    private StreamBatches() {
+    }
+
+    public static int size(Integer requested) {
+        return requested == null ? DEFAULT_SIZE : Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    public static <T> Flux<List<T>> of(Flux<T> items, Integer batchSize) {
+        return items.buffer(size(batchSize));
+    }
+
+    /**
+     * graphql-java dispatches data loaders eagerly while resolving subscription events, which would load a nested
+     * field once per item. The keys of each batch are therefore loaded together before the batch is emitted, and the
+     * nested fields are answered from the loader cache. The cache is cleared per batch so it does not grow with the
+     * stream.
+     */
+    public static <T, K> Flux<List<T>> prefetch(Flux<List<T>> batches, DataLoader<K, ?> loader, Function<T, K> keyOf) {
+        return batches.concatMap(batch -> {
+            loader.clearAll();
+            List<K> keys = batch.stream().map(keyOf).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+            if (keys.isEmpty()) {
+                return Mono.just(batch);
+            }
+            CompletableFuture<? extends List<?>> loaded = loader.loadMany(keys);
+            loader.dispatch();
+            return Mono.fromFuture(loaded).thenReturn(batch);
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.graphql;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Translates the selection set of a tournament query into the {@code Tournament} properties that have to be read
+ * from Mongo. Fields resolved from other documents map to the properties their resolvers need, the id is always
+ * read because cursors are built from it.
+ */
+public final class TournamentProjection {
+
+    private static final Map<String, String> PROPERTY_BY_FIELD = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("name", "name"),
+            Map.entry("game", "game"),
+            Map.entry("prize", "prize"),
+            Map.entry("currency", "currency"),
+            Map.entry("teamSize", "teamSize"),
+            Map.entry("bracketType", "bracketType"),
+            Map.entry("dateTime", "dateTime"),
+            Map.entry("region", "region"),
+            Map.entry("ownerId", "ownerId"),
+            Map.entry("participantCount", "participantCount"),
+            Map.entry("maxParticipants", "maxParticipants"),
+            Map.entry("owner", "ownerId"));
+
+    private TournamentProjection() {
+    }
+
+    /**
+     * Properties needed by a field returning tournaments directly.
+     */
+    public static Set<String> ofNodes(DataFetchingFieldSelectionSet selectionSet) {
+        return selectionSet == null ? null : properties(selectionSet.getImmediateFields());
+    }
+
+    /**
+     * Properties needed by a field returning a tournament connection.
+     */
+    public static Set<String> ofConnection(DataFetchingFieldSelectionSet selectionSet) {
+        return selectionSet == null ? null : properties(selectionSet.getFields("edges/node/*"));
+    }
+
+    static Set<String> properties(Collection<SelectedField> selectedFields) {
+        Set<String> properties = new LinkedHashSet<>(List.of("id"));
+        for (SelectedField field : selectedFields) {
+            String property = PROPERTY_BY_FIELD.get(field.getName());
+            if (property != null) {
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Connection<T> {
+    private List<Edge<T>> edges;
+    private PageInfo pageInfo;
+}
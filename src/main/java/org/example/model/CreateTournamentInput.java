@@ -18,4 +18,5 @@ public class CreateTournamentInput {
     private String bracketType;
     private String dateTime;
     private String region;
+    private Integer maxParticipants;
 }
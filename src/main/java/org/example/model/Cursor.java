@@ -0,0 +1,33 @@
+package org.example.model;
+
+import org.bson.types.ObjectId;
+import org.example.error.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class Cursor {
+
+    private Cursor() {
+    }
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String id;
+        try {
+            id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor!", "after");
+        }
+        if (!ObjectId.isValid(id)) {
+            throw new InvalidCursorException("Invalid cursor!", "after");
+        }
+        return id;
+    }
+}
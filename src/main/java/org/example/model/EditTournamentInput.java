@@ -17,6 +17,6 @@ public class EditTournamentInput {
     private String currency;
     private Integer teamSize;
     private String bracketType;
-    private String date;
+    private String dateTime;
     private String region;
 }
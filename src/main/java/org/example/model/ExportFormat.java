@@ -0,0 +1,26 @@
+package org.example.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.error.InvalidExportRequestException;
+
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+
+    private final String extension;
+
+    public static ExportFormat of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportRequestException("Unknown export format " + name + ", expected ndjson or csv");
+        }
+    }
+}
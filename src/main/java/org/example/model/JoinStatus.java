@@ -0,0 +1,8 @@
+package org.example.model;
+
+public enum JoinStatus {
+    JOINED,
+    ALREADY_JOINED,
+    USER_NOT_FOUND,
+    TOURNAMENT_FULL
+}
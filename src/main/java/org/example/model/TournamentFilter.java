@@ -0,0 +1,16 @@
+package org.example.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentFilter {
+    private String game;
+    private String region;
+    private String bracketType;
+    private String dateFrom;
+    private String dateTo;
+}
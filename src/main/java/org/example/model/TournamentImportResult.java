@@ -0,0 +1,15 @@
+package org.example.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.model.entity.Tournament;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentImportResult {
+    private int index;
+    private Tournament tournament;
+    private String error;
+}
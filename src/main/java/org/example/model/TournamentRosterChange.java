@@ -0,0 +1,14 @@
+package org.example.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentRosterChange {
+    private String tournamentId;
+    private int participantCount;
+    private Integer maxParticipants;
+}
@@ -0,0 +1,16 @@
+package org.example.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserFilter {
+    private String role;
+    /**
+     * Matches usernames starting with this value, answered from the username index.
+     */
+    private String username;
+}
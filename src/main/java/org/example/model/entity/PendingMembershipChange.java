@@ -0,0 +1,28 @@
+package org.example.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Records a membership change whose membership and participant count writes failed outside a transaction, so
+ * {@code MembershipReconciler} can recount the participants of the tournament.
+ */
+@Data
+@Document(collection = "PendingMembershipChange")
+@AllArgsConstructor
+@NoArgsConstructor
+public class PendingMembershipChange {
+    @Id
+    private String id;
+    private String tournamentId;
+    private List<String> userIds;
+    @Indexed
+    private Instant createdAt;
+}
@@ -0,0 +1,34 @@
+package org.example.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A refresh token handed out at login. Only the SHA-256 of the token is stored. Every refresh marks the presented
+ * token as used and issues a successor in the same family, so presenting a used token again means it leaked and
+ * revokes the whole family. Mongo removes documents once {@code expiresAt} has passed.
+ */
+@Data
+@Document(collection = "RefreshToken")
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshToken {
+    @Id
+    private String id;
+    @Indexed(unique = true)
+    private String tokenHash;
+    @Indexed
+    private String familyId;
+    private String userId;
+    private String username;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+    private Instant usedAt;
+    private boolean revoked;
+}
@@ -4,15 +4,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
 @Document(collection = "Tournament")
+@CompoundIndexes({
+        @CompoundIndex(name = "game_id", def = "{'game': 1, '_id': 1}"),
+        @CompoundIndex(name = "region_id", def = "{'region': 1, '_id': 1}"),
+        @CompoundIndex(name = "bracketType_id", def = "{'bracketType': 1, '_id': 1}"),
+        @CompoundIndex(name = "dateTime_id", def = "{'dateTime': 1, '_id': 1}")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Tournament {
@@ -26,13 +33,8 @@ public class Tournament {
     private String bracketType;
     private LocalDateTime dateTime;
     private String region;
+    @Indexed
     private String ownerId;
-    private List<String> userList;
-
-    public List<String> getUserList(){
-        if (userList == null){
-            userList = new ArrayList<>();
-        }
-        return userList;
-    }
+    private int participantCount;
+    private Integer maxParticipants;
 }
@@ -0,0 +1,34 @@
+package org.example.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.model.MembershipStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One user's participation in one tournament. Leaving a tournament only changes the status, so a user has at most
+ * one membership per tournament and rejoining reuses it.
+ */
+@Data
+@Document(collection = "TournamentMembership")
+@CompoundIndexes({
+        @CompoundIndex(name = "tournamentId_userId", def = "{'tournamentId': 1, 'userId': 1}", unique = true),
+        @CompoundIndex(name = "tournamentId_status_id", def = "{'tournamentId': 1, 'status': 1, '_id': 1}"),
+        @CompoundIndex(name = "userId_status_id", def = "{'userId': 1, 'status': 1, '_id': 1}")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentMembership {
+    @Id
+    private String id;
+    private String tournamentId;
+    private String userId;
+    private Instant joinedAt;
+    private MembershipStatus status;
+}
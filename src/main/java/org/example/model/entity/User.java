@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
@@ -11,6 +13,7 @@ import java.util.List;
 
 @Data
 @Document(collection = "User")
+@CompoundIndex(name = "username_id", def = "{'username': 1, '_id': 1}")
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
@@ -19,17 +22,10 @@ public class User {
     private String name;
     private String surname;
     private String password;
+    @Indexed(unique = true)
     private String username;
-    private List<String> tournamentId;
     private List<Role> roleList;
 
-    public List<String> getTournamentId(){
-        if (tournamentId == null){
-            tournamentId = new ArrayList<>();
-        }
-        return tournamentId;
-    }
-
     public List<Role> getRoleList(){
         if (roleList == null){
             roleList = new ArrayList<>();
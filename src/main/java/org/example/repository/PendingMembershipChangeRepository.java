@@ -0,0 +1,14 @@
+package org.example.repository;
+
+import org.example.model.entity.PendingMembershipChange;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import java.time.Instant;
+import java.util.List;
+
+@RepositoryRestResource(exported = false)
+public interface PendingMembershipChangeRepository extends MongoRepository<PendingMembershipChange, String> {
+
+    List<PendingMembershipChange> findTop100ByCreatedAtBeforeOrderByCreatedAt(Instant createdAt);
+}
@@ -0,0 +1,11 @@
+package org.example.repository;
+
+import org.example.model.entity.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+@RepositoryRestResource(exported = false)
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String>, RefreshTokenRepositoryCustom {
+
+    RefreshToken findByTokenHash(String tokenHash);
+}
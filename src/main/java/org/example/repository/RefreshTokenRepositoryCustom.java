@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.model.entity.RefreshToken;
+
+import java.time.Instant;
+
+public interface RefreshTokenRepositoryCustom {
+
+    /**
+     * Marks the token as used if it is still usable at {@code now}.
+     *
+     * @return the token as it was before this call, or {@code null} if it is unknown, expired, revoked or used
+     */
+    RefreshToken markUsed(String tokenHash, Instant now);
+
+    void revokeFamily(String familyId);
+}
@@ -0,0 +1,30 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.entity.RefreshToken;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+public class RefreshTokenRepositoryImpl implements RefreshTokenRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public RefreshToken markUsed(String tokenHash, Instant now) {
+        return mongoTemplate.findAndModify(
+                query(where("tokenHash").is(tokenHash).and("usedAt").is(null).and("revoked").is(false).and("expiresAt").gt(now)),
+                new Update().set("usedAt", now),
+                RefreshToken.class);
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        mongoTemplate.updateMulti(query(where("familyId").is(familyId)), new Update().set("revoked", true), RefreshToken.class);
+    }
+}
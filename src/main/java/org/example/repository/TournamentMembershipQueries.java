@@ -0,0 +1,86 @@
+package org.example.repository;
+
+import org.bson.types.ObjectId;
+import org.example.model.MembershipStatus;
+import org.example.model.entity.TournamentMembership;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Query builders shared by the blocking and reactive membership repositories.
+ */
+public final class TournamentMembershipQueries {
+
+    private TournamentMembershipQueries() {
+    }
+
+    /**
+     * Up to {@code limit} active memberships of the user, ordered by id and starting after {@code afterId}.
+     */
+    public static Query joinedBy(String userId, String afterId, int limit) {
+        return page(where("userId").is(userId), afterId, limit);
+    }
+
+    /**
+     * Up to {@code limit} active memberships of the tournament, ordered by id and starting after {@code afterId}.
+     */
+    public static Query rosterOf(String tournamentId, String afterId, int limit) {
+        return page(where("tournamentId").is(tournamentId), afterId, limit);
+    }
+
+    /**
+     * The first {@code limit} active memberships of each tournament, ordered by id. A single {@code $in} on
+     * tournamentId reads the (tournamentId, status, _id) index in order; each roster is cut to {@code limit} after
+     * grouping, so only those memberships are returned.
+     */
+    public static TypedAggregation<TournamentMembership> rostersOf(Collection<String> tournamentIds, int limit) {
+        return Aggregation.newAggregation(TournamentMembership.class,
+                Aggregation.match(where("tournamentId").in(tournamentIds).and("status").is(MembershipStatus.JOINED)),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "tournamentId", "status", "id")),
+                Aggregation.group("tournamentId").push(Aggregation.ROOT).as("memberships"),
+                Aggregation.project().and("memberships").slice(limit).as("memberships"),
+                Aggregation.unwind("memberships"),
+                Aggregation.replaceRoot("memberships"));
+    }
+
+    public static Query joinedByAny(Collection<String> userIds) {
+        return new Query(where("userId").in(userIds).and("status").is(MembershipStatus.JOINED));
+    }
+
+    /**
+     * The user's membership in the tournament unless it is active. Upserting {@link #join()} with it fails with a
+     * duplicate key error if the user already joined.
+     */
+    public static Query notJoined(String tournamentId, String userId) {
+        return new Query(where("tournamentId").is(tournamentId).and("userId").is(userId).and("status").ne(MembershipStatus.JOINED));
+    }
+
+    public static Query joined(String tournamentId, Collection<String> userIds) {
+        return new Query(where("tournamentId").is(tournamentId).and("userId").in(userIds).and("status").is(MembershipStatus.JOINED));
+    }
+
+    public static Update join() {
+        return new Update().set("status", MembershipStatus.JOINED).set("joinedAt", Instant.now());
+    }
+
+    public static Update leave() {
+        return new Update().set("status", MembershipStatus.LEFT);
+    }
+
+    private static Query page(Criteria criteria, String afterId, int limit) {
+        criteria.and("status").is(MembershipStatus.JOINED);
+        if (afterId != null) {
+            criteria.and("id").gt(new ObjectId(afterId));
+        }
+        return new Query(criteria).with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+    }
+}
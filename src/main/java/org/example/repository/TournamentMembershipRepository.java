@@ -0,0 +1,12 @@
+package org.example.repository;
+
+import org.example.model.MembershipStatus;
+import org.example.model.entity.TournamentMembership;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+@RepositoryRestResource(exported = false)
+public interface TournamentMembershipRepository extends MongoRepository<TournamentMembership, String>, TournamentMembershipRepositoryCustom {
+
+    long countByTournamentIdAndStatus(String tournamentId, MembershipStatus status);
+}
@@ -0,0 +1,47 @@
+package org.example.repository;
+
+import org.example.model.entity.TournamentMembership;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface TournamentMembershipRepositoryCustom {
+
+    /**
+     * Activates the user's membership in the tournament, creating it if needed.
+     *
+     * @return {@code false} if the user already joined the tournament
+     */
+    boolean join(String tournamentId, String userId);
+
+    /**
+     * Activates the memberships of all users with a single unordered bulk write.
+     *
+     * @return the ids of the users that joined, without those that already had joined the tournament
+     */
+    List<String> joinAll(String tournamentId, Collection<String> userIds);
+
+    /**
+     * Deactivates the user's membership in the tournament.
+     *
+     * @return {@code false} if the user did not join the tournament
+     */
+    boolean leave(String tournamentId, String userId);
+
+    /**
+     * @return the ids of the given users that joined the tournament
+     */
+    Set<String> findJoinedUserIds(String tournamentId, Collection<String> userIds);
+
+    List<TournamentMembership> findJoinedBy(String userId, String afterId, int limit);
+
+    List<TournamentMembership> findJoinedByAny(Collection<String> userIds);
+
+    List<TournamentMembership> findRoster(String tournamentId, String afterId, int limit);
+
+    /**
+     * @return the first {@code limit} active memberships of each tournament, ordered by id within a tournament
+     */
+    List<TournamentMembership> findRosters(Collection<String> tournamentIds, int limit);
+}
@@ -0,0 +1,119 @@
+package org.example.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.example.model.entity.TournamentMembership;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class TournamentMembershipRepositoryImpl implements TournamentMembershipRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * A duplicate key error aborts a transaction, so inside one the active members are looked up first and only the
+     * others are upserted. A concurrent join of the same user then fails with a write conflict, which is retried.
+     */
+    @Override
+    public boolean join(String tournamentId, String userId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (mongoTemplate.exists(TournamentMembershipQueries.joined(tournamentId, List.of(userId)), TournamentMembership.class)) {
+                return false;
+            }
+            mongoTemplate.upsert(TournamentMembershipQueries.notJoined(tournamentId, userId), TournamentMembershipQueries.join(), TournamentMembership.class);
+            return true;
+        }
+        try {
+            mongoTemplate.upsert(TournamentMembershipQueries.notJoined(tournamentId, userId), TournamentMembershipQueries.join(), TournamentMembership.class);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public List<String> joinAll(String tournamentId, Collection<String> userIds) {
+        List<String> ids = new ArrayList<>(userIds);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ids.removeAll(findJoinedUserIds(tournamentId, ids));
+            if (ids.isEmpty()) {
+                return ids;
+            }
+        }
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TournamentMembership.class);
+        ids.forEach(userId -> bulkOperations.upsert(TournamentMembershipQueries.notJoined(tournamentId, userId), TournamentMembershipQueries.join()));
+        try {
+            bulkOperations.execute();
+            return ids;
+        } catch (BulkOperationException ex) {
+            if (ex.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw ex;
+            }
+            Set<Integer> rejected = ex.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+            List<String> joined = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (!rejected.contains(i)) {
+                    joined.add(ids.get(i));
+                }
+            }
+            return joined;
+        }
+    }
+
+    @Override
+    public Set<String> findJoinedUserIds(String tournamentId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        Query query = TournamentMembershipQueries.joined(tournamentId, userIds);
+        query.fields().include("userId");
+        return mongoTemplate.find(query, TournamentMembership.class).stream()
+                .map(TournamentMembership::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean leave(String tournamentId, String userId) {
+        return mongoTemplate.updateFirst(TournamentMembershipQueries.joined(tournamentId, List.of(userId)),
+                TournamentMembershipQueries.leave(), TournamentMembership.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public List<TournamentMembership> findJoinedBy(String userId, String afterId, int limit) {
+        return mongoTemplate.find(TournamentMembershipQueries.joinedBy(userId, afterId, limit), TournamentMembership.class);
+    }
+
+    @Override
+    public List<TournamentMembership> findJoinedByAny(Collection<String> userIds) {
+        return mongoTemplate.find(TournamentMembershipQueries.joinedByAny(userIds), TournamentMembership.class);
+    }
+
+    @Override
+    public List<TournamentMembership> findRoster(String tournamentId, String afterId, int limit) {
+        return mongoTemplate.find(TournamentMembershipQueries.rosterOf(tournamentId, afterId, limit), TournamentMembership.class);
+    }
+
+    @Override
+    public List<TournamentMembership> findRosters(Collection<String> tournamentIds, int limit) {
+        if (tournamentIds.isEmpty()) {
+            return List.of();
+        }
+        return mongoTemplate.aggregate(TournamentMembershipQueries.rostersOf(tournamentIds, limit), TournamentMembership.class).getMappedResults();
+    }
+}
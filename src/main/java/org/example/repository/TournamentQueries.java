@@ -0,0 +1,139 @@
+package org.example.repository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.example.error.InvalidTournamentFilterException;
+import org.example.error.InvalidTournamentInputException;
+import org.example.model.EditTournamentInput;
+import org.example.graphql.StreamBatches;
+import org.example.model.TournamentFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.ObjectUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Query builders shared by the blocking and reactive tournament repositories.
+ */
+public final class TournamentQueries {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+
+    private TournamentQueries() {
+    }
+
+    /**
+     * Up to {@code limit} tournaments matching the filter, ordered by id and starting after {@code afterId}.
+     */
+    public static Query page(TournamentFilter filter, String afterId, int limit) {
+        Criteria criteria = new Criteria();
+        if (afterId != null) {
+            criteria.and("id").gt(new ObjectId(afterId));
+        }
+        if (filter != null) {
+            if (!ObjectUtils.isEmpty(filter.getGame())) {
+                criteria.and("game").is(filter.getGame());
+            }
+            if (!ObjectUtils.isEmpty(filter.getRegion())) {
+                criteria.and("region").is(filter.getRegion());
+            }
+            if (!ObjectUtils.isEmpty(filter.getBracketType())) {
+                criteria.and("bracketType").is(filter.getBracketType());
+            }
+            if (!ObjectUtils.isEmpty(filter.getDateFrom()) || !ObjectUtils.isEmpty(filter.getDateTo())) {
+                Criteria dateTime = criteria.and("dateTime");
+                if (!ObjectUtils.isEmpty(filter.getDateFrom())) {
+                    dateTime.gte(parseDate(filter.getDateFrom(), "dateFrom"));
+                }
+                if (!ObjectUtils.isEmpty(filter.getDateTo())) {
+                    dateTime.lte(parseDate(filter.getDateTo(), "dateTo"));
+                }
+            }
+        }
+        return new Query(criteria).with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+    }
+
+    private static LocalDateTime parseDate(String value, String field) {
+        try {
+            return LocalDateTime.parse(value, DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new InvalidTournamentFilterException(field + " must be formatted as dd-MM-yyyy HH:mm:ss", field);
+        }
+    }
+
+    /**
+     * Every tournament matching the filter ordered by id, read {@link StreamBatches#MAX_SIZE} documents per round trip.
+     */
+    public static Query stream(TournamentFilter filter) {
+        return page(filter, null, 0).cursorBatchSize(StreamBatches.MAX_SIZE);
+    }
+
+    /**
+     * The tournament, provided it has {@code count} free slots. Tournaments without {@code maxParticipants} have no
+     * capacity limit.
+     */
+    public static Query withFreeSlots(String tournamentId, int count) {
+        return new Query(Criteria.where("id").is(tournamentId)
+                .orOperator(Criteria.where("maxParticipants").is(null),
+                        new Criteria("$expr").is(new Document("$lte",
+                                List.of(new Document("$add", List.of("$participantCount", count)), "$maxParticipants")))));
+    }
+
+    public static Query byIds(Collection<String> ids) {
+        return new Query(Criteria.where("id").in(ids));
+    }
+
+    public static Query ownedBy(String ownerId) {
+        return new Query(Criteria.where("ownerId").is(ownerId));
+    }
+
+    public static Query ownedBy(String tournamentId, String ownerId) {
+        return new Query(Criteria.where("id").is(tournamentId).and("ownerId").is(ownerId));
+    }
+
+    /**
+     * Sets the fields given in the input and nothing else, so {@code participantCount}, which joins change
+     * concurrently, is never written back.
+     */
+    public static Update edit(EditTournamentInput input) {
+        Update update = new Update();
+        setIfPresent(update, "name", input.getName());
+        setIfPresent(update, "game", input.getGame());
+        setIfPresent(update, "prize", input.getPrize());
+        setIfPresent(update, "currency", input.getCurrency());
+        setIfPresent(update, "teamSize", input.getTeamSize());
+        setIfPresent(update, "bracketType", input.getBracketType());
+        setIfPresent(update, "region", input.getRegion());
+        if (!ObjectUtils.isEmpty(input.getDateTime())) {
+            try {
+                update.set("dateTime", LocalDateTime.parse(input.getDateTime(), DATE_FORMAT));
+            } catch (DateTimeParseException e) {
+                throw new InvalidTournamentInputException("dateTime must be formatted as dd-MM-yyyy HH:mm:ss", "dateTime");
+            }
+        }
+        return update;
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+
+    /**
+     * Restricts the query to the given properties; a {@code null} or empty collection reads whole documents.
+     */
+    public static Query project(Query query, Collection<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            query.fields().include(fields.toArray(new String[0]));
+        }
+        return query;
+    }
+}
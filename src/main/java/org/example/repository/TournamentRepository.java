@@ -3,11 +3,13 @@ package org.example.repository;
 import org.example.model.entity.Tournament;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface TournamentRepository extends MongoRepository<Tournament, String> {
+public interface TournamentRepository extends MongoRepository<Tournament, String>, TournamentRepositoryCustom {
 
-    List<Tournament> findByUserListContaining(String userId);
     List<Tournament> findByOwnerId(String ownerId);
+    List<Tournament> findByIdIn(Collection<String> ids);
+    List<Tournament> findByOwnerIdIn(Collection<String> ownerIds);
 
 }
@@ -0,0 +1,69 @@
+package org.example.repository;
+
+import org.example.model.TournamentFilter;
+import org.example.model.entity.Tournament;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface TournamentRepositoryCustom {
+
+    /**
+     * Atomically increments the tournament's participant count by {@code count}, provided it has that many free slots.
+     * Tournaments without {@code maxParticipants} have no capacity limit.
+     *
+     * @return the updated tournament, or {@code null} if the tournament does not exist or is full
+     */
+    Tournament reserveSlots(String tournamentId, int count);
+
+    /**
+     * Atomically decrements the tournament's participant count by {@code count}.
+     *
+     * @return the updated tournament, or {@code null} if the tournament does not exist
+     */
+    Tournament releaseSlots(String tournamentId, int count);
+
+    /**
+     * Sets the tournament's participant count, provided it still is {@code expectedParticipantCount}, so slots
+     * reserved or released meanwhile are not overwritten.
+     *
+     * @return {@code false} if the count changed meanwhile
+     */
+    boolean updateParticipantCount(String tournamentId, int expectedParticipantCount, int participantCount);
+
+    /**
+     * Applies the update to the tournament, provided it is owned by {@code ownerId}.
+     *
+     * @return the updated tournament, or {@code null} if the tournament does not exist or is owned by someone else
+     */
+    Tournament updateOwned(String tournamentId, String ownerId, Update update);
+
+    /**
+     * Inserts the tournaments with a single unordered bulk write. Tournaments must already have their ids.
+     *
+     * @return the error message of every tournament that could not be inserted, by position in the list
+     */
+    Map<Integer, String> insertAll(List<Tournament> tournaments);
+
+    /**
+     * Returns up to {@code limit} tournaments matching the filter, ordered by id and starting after {@code afterId}.
+     * Only the given properties are read; {@code null} reads whole documents.
+     */
+    List<Tournament> findPage(TournamentFilter filter, String afterId, int limit, Collection<String> fields);
+
+    /**
+     * Returns the tournaments with the given ids in no particular order, reading only the given properties.
+     */
+    List<Tournament> findByIds(Collection<String> ids, Collection<String> fields);
+
+    List<Tournament> findOwnedBy(String ownerId, Collection<String> fields);
+
+    /**
+     * Streams every tournament matching the filter from an open cursor, reading only the given properties. The stream
+     * must be closed.
+     */
+    Stream<Tournament> streamAll(TournamentFilter filter, Collection<String> fields);
+}
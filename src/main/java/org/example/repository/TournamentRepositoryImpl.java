@@ -0,0 +1,89 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.TournamentFilter;
+import org.example.model.entity.Tournament;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+public class TournamentRepositoryImpl implements TournamentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Tournament reserveSlots(String tournamentId, int count) {
+        return mongoTemplate.findAndModify(
+                TournamentQueries.withFreeSlots(tournamentId, count),
+                new Update().inc("participantCount", count),
+                FindAndModifyOptions.options().returnNew(true),
+                Tournament.class);
+    }
+
+    @Override
+    public Tournament releaseSlots(String tournamentId, int count) {
+        return mongoTemplate.findAndModify(
+                query(where("id").is(tournamentId)),
+                new Update().inc("participantCount", -count),
+                FindAndModifyOptions.options().returnNew(true),
+                Tournament.class);
+    }
+
+    @Override
+    public boolean updateParticipantCount(String tournamentId, int expectedParticipantCount, int participantCount) {
+        return mongoTemplate.updateFirst(query(where("id").is(tournamentId).and("participantCount").is(expectedParticipantCount)),
+                new Update().set("participantCount", participantCount), Tournament.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public Tournament updateOwned(String tournamentId, String ownerId, Update update) {
+        return mongoTemplate.findAndModify(TournamentQueries.ownedBy(tournamentId, ownerId), update,
+                FindAndModifyOptions.options().returnNew(true), Tournament.class);
+    }
+
+    @Override
+    public Map<Integer, String> insertAll(List<Tournament> tournaments) {
+        Map<Integer, String> errors = new LinkedHashMap<>();
+        if (tournaments.isEmpty()) {
+            return errors;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Tournament.class).insert(tournaments).execute();
+        } catch (BulkOperationException ex) {
+            ex.getErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+        }
+        return errors;
+    }
+
+    @Override
+    public List<Tournament> findPage(TournamentFilter filter, String afterId, int limit, Collection<String> fields) {
+        return mongoTemplate.find(TournamentQueries.project(TournamentQueries.page(filter, afterId, limit), fields), Tournament.class);
+    }
+
+    @Override
+    public List<Tournament> findByIds(Collection<String> ids, Collection<String> fields) {
+        return mongoTemplate.find(TournamentQueries.project(TournamentQueries.byIds(ids), fields), Tournament.class);
+    }
+
+    @Override
+    public List<Tournament> findOwnedBy(String ownerId, Collection<String> fields) {
+        return mongoTemplate.find(TournamentQueries.project(TournamentQueries.ownedBy(ownerId), fields), Tournament.class);
+    }
+
+    @Override
+    public Stream<Tournament> streamAll(TournamentFilter filter, Collection<String> fields) {
+        return mongoTemplate.stream(TournamentQueries.project(TournamentQueries.stream(filter), fields), Tournament.class).stream();
+    }
+}
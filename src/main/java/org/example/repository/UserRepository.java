@@ -1,10 +1,38 @@
 package org.example.repository;
 
+import org.example.graphql.StreamBatches;
 import org.example.model.entity.User;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
-public interface UserRepository extends MongoRepository<User, String> {
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     User findUserByUsername(String username);
     User findUserById(String id);
+
+    /**
+     * Reads only what authentication needs: the username, the password hash and the role names.
+     */
+    @Query(value = "{ 'username': ?0 }", fields = "{ 'username': 1, 'password': 1, 'roleList.name': 1 }")
+    User findCredentialsByUsername(String username);
+
+    /**
+     * Reads only the id, answered from the {@code username_id} index without touching the document.
+     */
+    @Query(value = "{ 'username': ?0 }", fields = "{ '_id': 1 }")
+    User findIdByUsername(String username);
+
+    List<User> findByIdIn(Collection<String> ids);
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    /**
+     * Streams every user from an open cursor; the stream must be closed.
+     */
+    @Meta(cursorBatchSize = StreamBatches.MAX_SIZE)
+    Stream<User> streamAllBy();
 }
@@ -0,0 +1,16 @@
+package org.example.repository;
+
+import org.example.model.UserFilter;
+import org.example.model.entity.User;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Streams every user matching the filter from an open cursor ordered by id, reading only the given properties.
+     * The stream must be closed.
+     */
+    Stream<User> streamAll(UserFilter filter, Collection<String> fields);
+}
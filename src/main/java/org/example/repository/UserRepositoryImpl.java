@@ -0,0 +1,42 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.graphql.StreamBatches;
+import org.example.model.UserFilter;
+import org.example.model.entity.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.ObjectUtils;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final Pattern REGEX_META_CHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Stream<User> streamAll(UserFilter filter, Collection<String> fields) {
+        Criteria criteria = new Criteria();
+        if (filter != null) {
+            if (!ObjectUtils.isEmpty(filter.getRole())) {
+                criteria.and("roleList.name").is(filter.getRole());
+            }
+            if (!ObjectUtils.isEmpty(filter.getUsername())) {
+                // an anchored, case sensitive prefix is answered from the username index
+                criteria.and("username").regex("^" + REGEX_META_CHARACTERS.matcher(filter.getUsername()).replaceAll("\\\\$0"));
+            }
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "id")).cursorBatchSize(StreamBatches.MAX_SIZE);
+        if (fields != null && !fields.isEmpty()) {
+            query.fields().include(fields.toArray(new String[0]));
+        }
+        return mongoTemplate.stream(query, User.class).stream();
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.repository.reactive;
+
+import org.example.model.entity.TournamentMembership;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+@RepositoryRestResource(exported = false)
+public interface ReactiveTournamentMembershipRepository extends ReactiveMongoRepository<TournamentMembership, String>, ReactiveTournamentMembershipRepositoryCustom {
+
+}
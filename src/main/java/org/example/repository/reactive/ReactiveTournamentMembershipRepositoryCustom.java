@@ -0,0 +1,17 @@
+package org.example.repository.reactive;
+
+import org.example.model.entity.TournamentMembership;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveTournamentMembershipRepositoryCustom {
+
+    Flux<TournamentMembership> findJoinedBy(String userId, String afterId, int limit);
+
+    Flux<TournamentMembership> findJoinedByAny(Collection<String> userIds);
+
+    Flux<TournamentMembership> findRoster(String tournamentId, String afterId, int limit);
+
+    Flux<TournamentMembership> findRosters(Collection<String> tournamentIds, int limit);
+}
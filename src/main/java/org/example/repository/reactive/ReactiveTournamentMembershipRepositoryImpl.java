@@ -0,0 +1,38 @@
+package org.example.repository.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.entity.TournamentMembership;
+import org.example.repository.TournamentMembershipQueries;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ReactiveTournamentMembershipRepositoryImpl implements ReactiveTournamentMembershipRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<TournamentMembership> findJoinedBy(String userId, String afterId, int limit) {
+        return reactiveMongoTemplate.find(TournamentMembershipQueries.joinedBy(userId, afterId, limit), TournamentMembership.class);
+    }
+
+    @Override
+    public Flux<TournamentMembership> findJoinedByAny(Collection<String> userIds) {
+        return reactiveMongoTemplate.find(TournamentMembershipQueries.joinedByAny(userIds), TournamentMembership.class);
+    }
+
+    @Override
+    public Flux<TournamentMembership> findRoster(String tournamentId, String afterId, int limit) {
+        return reactiveMongoTemplate.find(TournamentMembershipQueries.rosterOf(tournamentId, afterId, limit), TournamentMembership.class);
+    }
+
+    @Override
+    public Flux<TournamentMembership> findRosters(Collection<String> tournamentIds, int limit) {
+        if (tournamentIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return reactiveMongoTemplate.aggregate(TournamentMembershipQueries.rostersOf(tournamentIds, limit), TournamentMembership.class);
+    }
+}
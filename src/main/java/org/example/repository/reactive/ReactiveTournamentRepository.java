@@ -0,0 +1,16 @@
+package org.example.repository.reactive;
+
+import org.example.model.entity.Tournament;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+@RepositoryRestResource(exported = false)
+public interface ReactiveTournamentRepository extends ReactiveMongoRepository<Tournament, String>, ReactiveTournamentRepositoryCustom {
+
+    Flux<Tournament> findByIdIn(Collection<String> ids);
+    Flux<Tournament> findByOwnerIdIn(Collection<String> ownerIds);
+
+}
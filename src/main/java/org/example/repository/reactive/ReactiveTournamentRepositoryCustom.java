@@ -0,0 +1,22 @@
+package org.example.repository.reactive;
+
+import org.example.model.TournamentFilter;
+import org.example.model.entity.Tournament;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveTournamentRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} tournaments matching the filter, ordered by id and starting after {@code afterId}.
+     * Only the given properties are read; {@code null} reads whole documents.
+     */
+    Flux<Tournament> findPage(TournamentFilter filter, String afterId, int limit, Collection<String> fields);
+
+    Flux<Tournament> findByIds(Collection<String> ids, Collection<String> fields);
+
+    Flux<Tournament> findOwnedBy(String ownerId, Collection<String> fields);
+
+    Flux<Tournament> streamAll(TournamentFilter filter, Collection<String> fields);
+}
@@ -0,0 +1,36 @@
+package org.example.repository.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.TournamentFilter;
+import org.example.model.entity.Tournament;
+import org.example.repository.TournamentQueries;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ReactiveTournamentRepositoryImpl implements ReactiveTournamentRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Tournament> findPage(TournamentFilter filter, String afterId, int limit, Collection<String> fields) {
+        return reactiveMongoTemplate.find(TournamentQueries.project(TournamentQueries.page(filter, afterId, limit), fields), Tournament.class);
+    }
+
+    @Override
+    public Flux<Tournament> findByIds(Collection<String> ids, Collection<String> fields) {
+        return reactiveMongoTemplate.find(TournamentQueries.project(TournamentQueries.byIds(ids), fields), Tournament.class);
+    }
+
+    @Override
+    public Flux<Tournament> findOwnedBy(String ownerId, Collection<String> fields) {
+        return reactiveMongoTemplate.find(TournamentQueries.project(TournamentQueries.ownedBy(ownerId), fields), Tournament.class);
+    }
+
+    @Override
+    public Flux<Tournament> streamAll(TournamentFilter filter, Collection<String> fields) {
+        return reactiveMongoTemplate.find(TournamentQueries.project(TournamentQueries.stream(filter), fields), Tournament.class);
+    }
+}
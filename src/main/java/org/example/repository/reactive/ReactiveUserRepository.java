@@ -0,0 +1,21 @@
+package org.example.repository.reactive;
+
+import org.example.graphql.StreamBatches;
+import org.example.model.entity.User;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@RepositoryRestResource(exported = false)
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    Mono<User> findUserByUsername(String username);
+    Flux<User> findByIdIn(Collection<String> ids);
+
+    @Meta(cursorBatchSize = StreamBatches.MAX_SIZE)
+    Flux<User> streamAllBy();
+}
@@ -0,0 +1,61 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.Connection;
+import org.example.model.TournamentFilter;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.TournamentMembership;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.mongo.reactive.enabled", havingValue = "false", matchIfMissing = true)
+public class BlockingTournamentQueryService implements TournamentQueryService {
+
+    private final TournamentService tournamentService;
+
+    @Override
+    public Mono<Connection<Tournament>> getTournaments(Integer first, String after, TournamentFilter filter, Collection<String> fields) {
+        return Mono.fromCallable(() -> tournamentService.getTournaments(first, after, filter, fields));
+    }
+
+    @Override
+    public Mono<Connection<Tournament>> joinedTournaments(String userId, Integer first, String after, Collection<String> fields) {
+        return Mono.fromCallable(() -> tournamentService.joinedTournaments(userId, first, after, fields));
+    }
+
+    @Override
+    public Flux<Tournament> createdTournaments(String userId, Collection<String> fields) {
+        return Flux.defer(() -> Flux.fromIterable(tournamentService.createdTournaments(userId, fields)));
+    }
+
+    @Override
+    public Mono<Connection<TournamentMembership>> getParticipants(String tournamentId, Integer first, String after) {
+        return Mono.fromCallable(() -> tournamentService.getParticipants(tournamentId, first, after));
+    }
+
+    @Override
+    public Mono<Map<String, List<TournamentMembership>>> getRosters(Collection<String> tournamentIds, int limit) {
+        return Mono.fromCallable(() -> tournamentService.getRosters(tournamentIds, limit));
+    }
+
+    @Override
+    public Mono<Map<String, List<Tournament>>> getTournamentsByUserIds(Collection<String> userIds) {
+        return Mono.fromCallable(() -> tournamentService.getTournamentsByUserIds(userIds));
+    }
+
+    @Override
+    public Flux<Tournament> streamTournaments(TournamentFilter filter, Collection<String> fields) {
+        return Flux.using(() -> tournamentService.streamTournaments(filter, fields), Flux::fromStream, Stream::close)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
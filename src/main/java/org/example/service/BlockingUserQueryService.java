@@ -0,0 +1,36 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.entity.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.mongo.reactive.enabled", havingValue = "false", matchIfMissing = true)
+public class BlockingUserQueryService implements UserQueryService {
+
+    private final UserService userService;
+
+    @Override
+    public Flux<User> getUsers() {
+        return Flux.defer(() -> Flux.fromIterable(userService.getUsers()));
+    }
+
+    @Override
+    public Flux<User> getUsersByIds(Collection<String> userIds) {
+        return Flux.defer(() -> Flux.fromIterable(userService.getUsersByIds(userIds)));
+    }
+
+    @Override
+    public Flux<User> streamUsers() {
+        // the cursor blocks on every getMore, so it is read off the request and event loop threads
+        return Flux.using(userService::streamUsers, Flux::fromStream, Stream::close)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
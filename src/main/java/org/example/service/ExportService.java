@@ -0,0 +1,219 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.example.error.InvalidExportRequestException;
+import org.example.graphql.StreamBatches;
+import org.example.model.ExportFormat;
+import org.example.model.TournamentFilter;
+import org.example.model.UserFilter;
+import org.example.model.entity.Role;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.User;
+import org.example.repository.TournamentRepository;
+import org.example.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole collections for reporting straight from a Mongo cursor, one row at a time, so memory stays constant
+ * regardless of the collection size. Only the columns listed here can be exported; secrets such as the password hash
+ * have no column and are never read.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final Map<String, Column<User>> USER_COLUMNS = columns(List.of(
+            new Column<>("id", "id", User::getId),
+            new Column<>("name", "name", User::getName),
+            new Column<>("surname", "surname", User::getSurname),
+            new Column<>("username", "username", User::getUsername),
+            new Column<>("roles", "roleList.name", user -> user.getRoleList().stream().map(Role::getName).collect(Collectors.joining(" ")))));
+
+    private static final Map<String, Column<Tournament>> TOURNAMENT_COLUMNS = columns(List.of(
+            new Column<>("id", "id", Tournament::getId),
+            new Column<>("name", "name", Tournament::getName),
+            new Column<>("game", "game", Tournament::getGame),
+            new Column<>("prize", "prize", Tournament::getPrize),
+            new Column<>("currency", "currency", Tournament::getCurrency),
+            new Column<>("teamSize", "teamSize", Tournament::getTeamSize),
+            new Column<>("bracketType", "bracketType", Tournament::getBracketType),
+            new Column<>("dateTime", "dateTime", Tournament::getDateTime),
+            new Column<>("region", "region", Tournament::getRegion),
+            new Column<>("ownerId", "ownerId", Tournament::getOwnerId),
+            new Column<>("participantCount", "participantCount", Tournament::getParticipantCount),
+            new Column<>("maxParticipants", "maxParticipants", Tournament::getMaxParticipants)));
+
+    private static final Set<Character> CSV_FORMULA_PREFIXES = Set.of('=', '+', '-', '@');
+
+    private final UserRepository userRepository;
+
+    private final TournamentRepository tournamentRepository;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Validates the request and opens the cursor; the returned export must be written, which closes the cursor.
+     */
+    public Export exportUsers(UserFilter filter, List<String> fields, ExportFormat format) {
+        List<Column<User>> columns = select(USER_COLUMNS, fields);
+        return new Export(format, columns, userRepository.streamAll(filter, properties(columns)));
+    }
+
+    public Export exportTournaments(TournamentFilter filter, List<String> fields, ExportFormat format) {
+        List<Column<Tournament>> columns = select(TOURNAMENT_COLUMNS, fields);
+        return new Export(format, columns, tournamentRepository.streamAll(filter, properties(columns)));
+    }
+
+    private static <T> List<Column<T>> select(Map<String, Column<T>> columns, List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return List.copyOf(columns.values());
+        }
+        return fields.stream().distinct().map(field -> {
+            Column<T> column = columns.get(field);
+            if (column == null) {
+                throw new InvalidExportRequestException("Unknown export field " + field + ", expected any of " + columns.keySet());
+            }
+            return column;
+        }).collect(Collectors.toList());
+    }
+
+    private static Set<String> properties(Collection<? extends Column<?>> columns) {
+        return columns.stream().map(Column::getProperty).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<String, Column<T>> columns(List<Column<T>> columns) {
+        Map<String, Column<T>> byName = new LinkedHashMap<>();
+        columns.forEach(column -> byName.put(column.name, column));
+        return byName;
+    }
+
+    public final class Export {
+
+        private final ExportFormat format;
+
+        private final List<Column<?>> columns;
+
+        private final Stream<?> rows;
+
+        private <T> Export(ExportFormat format, List<Column<T>> columns, Stream<T> rows) {
+            this.format = format;
+            this.columns = List.copyOf(columns);
+            this.rows = rows;
+        }
+
+        public ExportFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * Writes every row, flushing once per cursor batch so the client receives the export while it is read.
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            try (rows) {
+                if (format == ExportFormat.CSV) {
+                    writeCsv(out);
+                } else {
+                    writeNdjson(out);
+                }
+            }
+        }
+
+        private void writeNdjson(OutputStream out) throws IOException {
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            // rows are separated by the newline written after each of them
+            JsonGenerator generator = writer.createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+            long count = 0;
+            for (Iterator<?> iterator = rows.iterator(); iterator.hasNext(); ) {
+                Object row = iterator.next();
+                Map<String, Object> values = new LinkedHashMap<>();
+                columns.forEach(column -> values.put(column.name, column.valueOf(row)));
+                writer.writeValue(generator, values);
+                generator.writeRaw('\n');
+                if (++count % StreamBatches.MAX_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+            generator.close();
+        }
+
+        private void writeCsv(OutputStream out) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(columns.stream().map(column -> column.name).collect(Collectors.joining(",")));
+            writer.write("\r\n");
+            long count = 0;
+            for (Iterator<?> iterator = rows.iterator(); iterator.hasNext(); ) {
+                Object row = iterator.next();
+                writer.write(columns.stream().map(column -> csvValue(column.valueOf(row))).collect(Collectors.joining(",")));
+                writer.write("\r\n");
+                if (++count % StreamBatches.MAX_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 quoting; text starting like a formula is prefixed with a quote so spreadsheets do not evaluate it.
+     */
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && CSV_FORMULA_PREFIXES.contains(text.charAt(0))) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private static final class Column<T> {
+        private final String name;
+        private final String property;
+        private final Function<T, Object> value;
+
+        Column(String name, String property, Function<T, Object> value) {
+            this.name = name;
+            this.property = property;
+            this.value = value;
+        }
+
+        String getProperty() {
+            return property;
+        }
+
+        @SuppressWarnings("unchecked")
+        Object valueOf(Object row) {
+            return value.apply((T) row);
+        }
+    }
+}
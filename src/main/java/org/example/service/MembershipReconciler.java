@@ -0,0 +1,71 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.MembershipStatus;
+import org.example.model.entity.PendingMembershipChange;
+import org.example.model.entity.Tournament;
+import org.example.repository.PendingMembershipChangeRepository;
+import org.example.repository.TournamentMembershipRepository;
+import org.example.repository.TournamentRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recounts the participants of tournaments whose membership change failed, taking the active memberships as the
+ * source of truth. Changes younger than {@link #GRACE_PERIOD} are left alone, as a timed out write may still be
+ * applied by the server.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MembershipReconciler {
+
+    public static final Duration GRACE_PERIOD = Duration.ofSeconds(30);
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final PendingMembershipChangeRepository pendingMembershipChangeRepository;
+
+    private final TournamentRepository tournamentRepository;
+
+    private final TournamentMembershipRepository tournamentMembershipRepository;
+
+    @Scheduled(initialDelayString = "${app.membership.reconcile-interval-ms:60000}", fixedDelayString = "${app.membership.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<PendingMembershipChange> pendingChanges = pendingMembershipChangeRepository
+                .findTop100ByCreatedAtBeforeOrderByCreatedAt(Instant.now().minus(GRACE_PERIOD));
+        for (PendingMembershipChange pendingChange : pendingChanges) {
+            if (recount(pendingChange.getTournamentId())) {
+                pendingMembershipChangeRepository.delete(pendingChange);
+            } else {
+                log.warn("Tournament {} kept changing while it was recounted, retrying on the next run", pendingChange.getTournamentId());
+            }
+        }
+        if (!pendingChanges.isEmpty()) {
+            log.warn("Reconciled {} interrupted membership changes", pendingChanges.size());
+        }
+    }
+
+    /**
+     * Counts the active memberships and stores the count only if no join or leave changed the counter meanwhile.
+     */
+    private boolean recount(String tournamentId) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Optional<Tournament> tournament = tournamentRepository.findById(tournamentId);
+            if (tournament.isEmpty()) {
+                return true;
+            }
+            long participantCount = tournamentMembershipRepository.countByTournamentIdAndStatus(tournamentId, MembershipStatus.JOINED);
+            if (tournamentRepository.updateParticipantCount(tournamentId, tournament.get().getParticipantCount(), (int) participantCount)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
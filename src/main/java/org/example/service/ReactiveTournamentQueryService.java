@@ -0,0 +1,87 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.Connection;
+import org.example.model.Cursor;
+import org.example.model.TournamentFilter;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.TournamentMembership;
+import org.example.repository.reactive.ReactiveTournamentMembershipRepository;
+import org.example.repository.reactive.ReactiveTournamentRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.mongo.reactive.enabled", havingValue = "true")
+public class ReactiveTournamentQueryService implements TournamentQueryService {
+
+    private final ReactiveTournamentRepository reactiveTournamentRepository;
+
+    private final ReactiveTournamentMembershipRepository reactiveTournamentMembershipRepository;
+
+    @Override
+    public Mono<Connection<Tournament>> getTournaments(Integer first, String after, TournamentFilter filter, Collection<String> fields) {
+        return Mono.defer(() -> {
+            int pageSize = TournamentService.pageSize(first);
+            return reactiveTournamentRepository.findPage(filter, Cursor.decode(after), pageSize + 1, fields)
+                    .collectList()
+                    .map(tournaments -> TournamentService.toConnection(tournaments, pageSize));
+        });
+    }
+
+    @Override
+    public Mono<Connection<Tournament>> joinedTournaments(String userId, Integer first, String after, Collection<String> fields) {
+        return Mono.defer(() -> {
+            int pageSize = TournamentService.pageSize(first);
+            return reactiveTournamentMembershipRepository.findJoinedBy(userId, Cursor.decode(after), pageSize + 1).collectList()
+                    .flatMap(memberships -> (memberships.isEmpty() ? Mono.just(List.<Tournament>of())
+                            : reactiveTournamentRepository.findByIds(TournamentService.tournamentIdsOf(memberships, pageSize), fields).collectList())
+                            .map(tournaments -> TournamentService.toJoinedConnection(memberships, tournaments, pageSize)));
+        });
+    }
+
+    @Override
+    public Flux<Tournament> createdTournaments(String userId, Collection<String> fields) {
+        return reactiveTournamentRepository.findOwnedBy(userId, fields);
+    }
+
+    @Override
+    public Mono<Connection<TournamentMembership>> getParticipants(String tournamentId, Integer first, String after) {
+        return Mono.defer(() -> {
+            int pageSize = TournamentService.pageSize(first);
+            return reactiveTournamentMembershipRepository.findRoster(tournamentId, Cursor.decode(after), pageSize + 1)
+                    .collectList()
+                    .map(memberships -> TournamentService.toConnection(memberships, pageSize, TournamentMembership::getId));
+        });
+    }
+
+    @Override
+    public Mono<Map<String, List<TournamentMembership>>> getRosters(Collection<String> tournamentIds, int limit) {
+        return reactiveTournamentMembershipRepository.findRosters(tournamentIds, limit).collectList()
+                .map(TournamentService::groupByTournament);
+    }
+
+    @Override
+    public Mono<Map<String, List<Tournament>>> getTournamentsByUserIds(Collection<String> userIds) {
+        return reactiveTournamentMembershipRepository.findJoinedByAny(userIds).collectList()
+                .flatMap(memberships -> Mono.zip(
+                        reactiveTournamentRepository.findByOwnerIdIn(userIds).collectList(),
+                        memberships.isEmpty() ? Mono.just(List.<Tournament>of()) : reactiveTournamentRepository.findByIdIn(memberships.stream()
+                                .map(TournamentMembership::getTournamentId)
+                                .collect(Collectors.toSet())).collectList())
+                        .map(tournaments -> TournamentService.groupByUser(memberships, tournaments.getT1(), tournaments.getT2())));
+    }
+
+    @Override
+    public Flux<Tournament> streamTournaments(TournamentFilter filter, Collection<String> fields) {
+        return reactiveTournamentRepository.streamAll(filter, fields);
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.entity.User;
+import org.example.repository.reactive.ReactiveUserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.mongo.reactive.enabled", havingValue = "true")
+public class ReactiveUserQueryService implements UserQueryService {
+
+    private final ReactiveUserRepository reactiveUserRepository;
+
+    @Override
+    public Flux<User> getUsers() {
+        return reactiveUserRepository.findAll();
+    }
+
+    @Override
+    public Flux<User> getUsersByIds(Collection<String> userIds) {
+        return reactiveUserRepository.findByIdIn(userIds);
+    }
+
+    @Override
+    public Flux<User> streamUsers() {
+        return reactiveUserRepository.streamAllBy();
+    }
+}
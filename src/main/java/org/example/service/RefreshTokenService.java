@@ -0,0 +1,134 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.security.AuthenticatedUser;
+import org.example.error.InvalidRefreshTokenException;
+import org.example.model.entity.RefreshToken;
+import org.example.model.entity.User;
+import org.example.repository.RefreshTokenRepository;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Issues access and refresh tokens and trades a refresh token for a new pair without checking the password again.
+ * Refresh tokens are single use: each refresh replaces the presented token with a successor in the same family,
+ * and presenting an already used token revokes the family, ending the session on every client holding part of it.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    public static final int ACCESS_TOKEN_MINUTES = 15;
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final TokenService tokenService;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final Duration timeToLive;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(TokenService tokenService, RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               @Value("${app.jwt.refresh.time-to-live:7d}") Duration timeToLive) {
+        this.tokenService = tokenService;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Starts a new session for a user that has just logged in.
+     */
+    public Map<String, String> issueTokens(Authentication authentication) {
+        String refreshToken = save(UUID.randomUUID().toString(), AuthenticatedUser.idOf(authentication), authentication.getName());
+        return tokens(authentication, refreshToken);
+    }
+
+    public Map<String, String> refresh(String refreshToken) {
+        if (ObjectUtils.isEmpty(refreshToken)) {
+            throw new InvalidRefreshTokenException("Refresh token is missing");
+        }
+        String tokenHash = hash(refreshToken);
+        RefreshToken current = refreshTokenRepository.markUsed(tokenHash, Instant.now());
+        if (current == null) {
+            RefreshToken presented = refreshTokenRepository.findByTokenHash(tokenHash);
+            if (presented != null && presented.getUsedAt() != null && !presented.isRevoked()) {
+                log.warn("Refresh token of user {} was used twice, revoking its session", presented.getUsername());
+                refreshTokenRepository.revokeFamily(presented.getFamilyId());
+            }
+            throw new InvalidRefreshTokenException("Refresh token is invalid or expired");
+        }
+        // roles are read again so that role changes apply from the next refresh on
+        User user = userRepository.findCredentialsByUsername(current.getUsername());
+        if (user == null || !user.getId().equals(current.getUserId())) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token is invalid or expired");
+        }
+        List<SimpleGrantedAuthority> authorities = user.getRoleList().stream()
+                .map(role -> new SimpleGrantedAuthority(role.getName()))
+                .collect(Collectors.toList());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getUsername(), null, authorities), null, authorities);
+        return tokens(authentication, save(current.getFamilyId(), user.getId(), user.getUsername()));
+    }
+
+    /**
+     * Ends the session the refresh token belongs to. Unknown tokens are ignored.
+     */
+    public void revoke(String refreshToken) {
+        if (ObjectUtils.isEmpty(refreshToken)) {
+            return;
+        }
+        RefreshToken presented = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (presented != null) {
+            refreshTokenRepository.revokeFamily(presented.getFamilyId());
+        }
+    }
+
+    private Map<String, String> tokens(Authentication authentication, String refreshToken) {
+        Map<String, String> tokens = new LinkedHashMap<>();
+        tokens.put("access_token", tokenService.generateToken(authentication, ACCESS_TOKEN_MINUTES));
+        tokens.put("refresh_token", refreshToken);
+        return tokens;
+    }
+
+    private String save(String familyId, String userId, String username) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(null, hash(token), familyId, userId, username,
+                Instant.now().plus(timeToLive), null, false));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
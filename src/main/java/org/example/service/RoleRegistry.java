@@ -0,0 +1,51 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.entity.Role;
+import org.example.repository.RoleRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process snapshot of the Role collection. The snapshot is immutable and swapped as a whole; it is reloaded
+ * after every local {@code saveRole} and polled periodically so that roles created on other nodes show up.
+ * <p>
+ * Polling is used instead of a change stream like {@link TournamentChangeStreamListener}'s: the collection holds a
+ * handful of rarely changing roles, so reloading it costs no more than a version check would, and a role missing
+ * from the snapshot is looked up in the repository anyway.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<String, Role> rolesByName = Map.of();
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.role-registry.refresh-interval-ms:60000}")
+    public void refresh() {
+        Map<String, Role> roles = roleRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity(), (first, second) -> first));
+        if (!roles.equals(rolesByName)) {
+            log.info("Loaded {} roles into the role registry", roles.size());
+        }
+        rolesByName = roles;
+    }
+
+    public Role findByName(String name) {
+        Role role = rolesByName.get(name);
+        if (role == null) {
+            role = roleRepository.findByName(name);
+            if (role != null) {
+                refresh();
+            }
+        }
+        return role;
+    }
+}
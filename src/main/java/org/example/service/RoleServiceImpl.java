@@ -16,16 +16,20 @@ public class RoleServiceImpl implements RoleService{
 
     private final UserService userService;
 
+    private final RoleRegistry roleRegistry;
+
     @Override
     public Role saveRole(Role role) {
         log.info("Saving new Role {} to the database", role.getName());
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        roleRegistry.refresh();
+        return savedRole;
     }
 
     @Override
     public User addRoleToUser(String username, String roleName) {
         User user = userService.getUser(username);
-        Role role = roleRepository.findByName(roleName);
+        Role role = roleRegistry.findByName(roleName);
         log.info("Adding new Role {} to the user {}", role.getName(), user.getUsername());
         user.getRoleList().add(role);
         return userService.saveOrUpdate(user);
@@ -33,6 +37,6 @@ public class RoleServiceImpl implements RoleService{
 
     @Override
     public Role findRoleByName(String name) {
-        return roleRepository.findByName(name);
+        return roleRegistry.findByName(name);
     }
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package org.example.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.example.config.security.AuthenticatedUser;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.*;
@@ -8,26 +13,77 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class TokenService {
     private final JwtEncoder jwtEncoder;
 
     private final JwtDecoder jwtDecoder;
 
+    private final Timer issueSuccess;
+
+    private final Timer issueError;
+
+    private final Timer verifySuccess;
+
+    private final Timer verifyError;
+
+    @Autowired
+    public TokenService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(jwtEncoder, jwtDecoder, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public TokenService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder) {
+        this(jwtEncoder, jwtDecoder, Metrics.globalRegistry);
+    }
+
+    private TokenService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder, MeterRegistry meterRegistry) {
+        this.jwtEncoder = jwtEncoder;
+        this.jwtDecoder = jwtDecoder;
+        this.issueSuccess = timer(meterRegistry, "issue", "SUCCESS");
+        this.issueError = timer(meterRegistry, "issue", "ERROR");
+        this.verifySuccess = timer(meterRegistry, "verify", "SUCCESS");
+        this.verifyError = timer(meterRegistry, "verify", "ERROR");
+    }
+
     public String generateToken(Authentication authentication, int expireMinute) {
-        Instant now = Instant.now();
-        String roles = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(" "));
-        JwtClaimsSet claimsSet = JwtClaimsSet.builder().issuer("Self").issuedAt(now).expiresAt(now.plus(expireMinute, ChronoUnit.MINUTES)).subject(authentication.getName()).claim("roles", roles).build();
-        return this.jwtEncoder.encode(JwtEncoderParameters.from(claimsSet)).getTokenValue();
+        return timed(issueSuccess, issueError, () -> {
+            Instant now = Instant.now();
+            String roles = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(" "));
+            JwtClaimsSet.Builder claims = JwtClaimsSet.builder().issuer("Self").issuedAt(now).expiresAt(now.plus(expireMinute, ChronoUnit.MINUTES)).subject(authentication.getName()).claim("roles", roles);
+            String userId = AuthenticatedUser.idOf(authentication);
+            if (userId != null) {
+                claims.claim("uid", userId);
+            }
+            JwtClaimsSet claimsSet = claims.build();
+            return this.jwtEncoder.encode(JwtEncoderParameters.from(claimsSet)).getTokenValue();
+        });
     }
 
     public Jwt verifyToken(String token) {
-        return jwtDecoder.decode(token);
-
+        return timed(verifySuccess, verifyError, () -> jwtDecoder.decode(token));
     }
 
+    private static <T> T timed(Timer success, Timer error, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
 
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder("auth.jwt")
+                .description("Time to issue or verify an access token")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
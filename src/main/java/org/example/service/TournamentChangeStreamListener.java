@@ -0,0 +1,94 @@
+package org.example.service;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.FullDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.example.model.entity.Tournament;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Feeds the {@link TournamentEventPublisher} from a change stream on the tournament collection, so subscribers see
+ * changes made by every instance. Reconnects after failures, resuming after the last change it saw. Change streams
+ * need a replica set; on a standalone server it falls back to the changes made by this instance. Uses the blocking
+ * driver, which the rest of the application shares, so that the reactive client is only created when
+ * {@code app.mongo.reactive.enabled=true}; the open cursor holds one bounded elastic thread.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.subscriptions.change-streams.enabled", havingValue = "true")
+public class TournamentChangeStreamListener {
+
+    static final int CHANGE_STREAMS_NOT_SUPPORTED = 40573;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final TournamentEventPublisher tournamentEventPublisher;
+
+    private volatile BsonDocument resumeToken;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.defer(this::changeStream)
+                .onErrorResume(TournamentChangeStreamListener::isNotSupported, ex -> {
+                    log.warn("Change streams are not supported by this MongoDB deployment, subscriptions only see changes made by this instance");
+                    tournamentEventPublisher.useInProcessEvents();
+                    return Flux.empty();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Tournament change stream failed, reconnecting: {}", signal.failure().getMessage())))
+                .subscribe(tournamentEventPublisher::emit);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Flux<Tournament> changeStream() {
+        ChangeStreamIterable<Document> changeStream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Tournament.class))
+                .watch(List.of(Aggregates.match(Filters.in("operationType", "insert", "update", "replace"))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            changeStream.resumeAfter(resumeToken);
+        }
+        return Flux.using(changeStream::cursor, cursor -> Flux.fromIterable(() -> cursor), MongoCursor::close)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(event -> resumeToken = event.getResumeToken())
+                .filter(event -> event.getFullDocument() != null)
+                .map(event -> mongoTemplate.getConverter().read(Tournament.class, event.getFullDocument()));
+    }
+
+    private static boolean isNotSupported(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException && ((MongoException) cause).getCode() == CHANGE_STREAMS_NOT_SUPPORTED) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.entity.Tournament;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fans tournament changes out to GraphQL subscriptions. Changes come from the Mongo change stream when
+ * {@code app.subscriptions.change-streams.enabled=true}, see {@link TournamentChangeStreamListener}, and otherwise
+ * from the services of this instance.
+ */
+@Slf4j
+@Service
+public class TournamentEventPublisher {
+
+    private final Sinks.Many<Tournament> sink = Sinks.many().multicast().directBestEffort();
+
+    private final int bufferSize;
+
+    private volatile boolean inProcessEvents;
+
+    public TournamentEventPublisher(@Value("${app.subscriptions.change-streams.enabled:false}") boolean changeStreamsEnabled,
+                                    @Value("${app.subscriptions.buffer-size:256}") int bufferSize) {
+        this.inProcessEvents = !changeStreamsEnabled;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Publishes a change made by this instance. Ignored while changes are read from the change stream, which sees
+     * them as well.
+     */
+    public void tournamentChanged(Tournament tournament) {
+        if (inProcessEvents && tournament != null) {
+            emit(tournament);
+        }
+    }
+
+    public synchronized void emit(Tournament tournament) {
+        sink.tryEmitNext(tournament);
+    }
+
+    public void useInProcessEvents() {
+        inProcessEvents = true;
+    }
+
+    /**
+     * Changes of the tournament. Every subscriber buffers its own changes and drops the oldest ones when its
+     * connection cannot keep up, so a slow client never holds back the others.
+     */
+    public Flux<Tournament> changes(String tournamentId) {
+        return sink.asFlux()
+                .filter(tournament -> tournamentId.equals(tournament.getId()))
+                .onBackpressureBuffer(bufferSize,
+                        dropped -> log.debug("Dropped change of Tournament {} for a slow subscriber", dropped.getId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
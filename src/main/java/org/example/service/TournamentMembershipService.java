@@ -0,0 +1,120 @@
+package org.example.service;
+
+import com.mongodb.MongoException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.JoinStatus;
+import org.example.model.entity.PendingMembershipChange;
+import org.example.model.entity.Tournament;
+import org.example.repository.PendingMembershipChangeRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the {@code TournamentMembership} documents and {@code Tournament.participantCount} in step. With
+ * {@code app.mongo.transactions.enabled=true} both writes run in one transaction, retried when it loses a write
+ * conflict on a busy tournament. Otherwise a change whose writes fail is recorded, and {@link MembershipReconciler}
+ * recounts the participants of its tournament.
+ */
+@Slf4j
+@Service
+public class TournamentMembershipService {
+
+    static final int MAX_TRANSACTION_ATTEMPTS = 5;
+
+    private final TournamentService tournamentService;
+
+    private final PendingMembershipChangeRepository pendingMembershipChangeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TournamentMembershipService(TournamentService tournamentService, PendingMembershipChangeRepository pendingMembershipChangeRepository,
+                                       ObjectProvider<PlatformTransactionManager> transactionManager,
+                                       @Value("${app.mongo.transactions.enabled:false}") boolean transactionsEnabled) {
+        this.tournamentService = tournamentService;
+        this.pendingMembershipChangeRepository = pendingMembershipChangeRepository;
+        this.transactionTemplate = transactionsEnabled ? new TransactionTemplate(transactionManager.getObject()) : null;
+    }
+
+    public Tournament joinTournament(String tournamentId, String userId) {
+        return write(tournamentId, List.of(userId), () -> tournamentService.joinTournament(tournamentId, userId));
+    }
+
+    public Tournament unjoinTournament(String tournamentId, String userId) {
+        return write(tournamentId, List.of(userId), () -> tournamentService.unjoinTournament(tournamentId, userId));
+    }
+
+    public Map<String, JoinStatus> joinTournamentAsTeam(String tournamentId, Collection<String> userIds) {
+        return write(tournamentId, userIds, () -> tournamentService.joinTournamentAsTeam(tournamentId, userIds));
+    }
+
+    private <T> T write(String tournamentId, Collection<String> userIds, Supplier<T> membershipWrite) {
+        if (transactionTemplate != null) {
+            return inTransaction(tournamentId, membershipWrite);
+        }
+        try {
+            return membershipWrite.get();
+        } catch (DataAccessException ex) {
+            // the writes may be half done, leave the tournament to the reconciler
+            recordInterruptedChange(tournamentId, userIds, ex);
+            throw ex;
+        }
+    }
+
+    private void recordInterruptedChange(String tournamentId, Collection<String> userIds, DataAccessException cause) {
+        try {
+            pendingMembershipChangeRepository.save(new PendingMembershipChange(null, tournamentId, new ArrayList<>(userIds), Instant.now()));
+        } catch (DataAccessException ex) {
+            log.error("Could not record the interrupted membership change of Tournament {}", tournamentId, ex);
+            cause.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Every join increments the same tournament document, so concurrent joins of a busy tournament abort each other
+     * with write conflicts. The server labels those transient; the whole transaction is retried after a short,
+     * randomized pause.
+     */
+    private <T> T inTransaction(String tournamentId, Supplier<T> membershipWrite) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> membershipWrite.get());
+            } catch (RuntimeException ex) {
+                if (attempt >= MAX_TRANSACTION_ATTEMPTS || !isTransient(ex)) {
+                    throw ex;
+                }
+                log.warn("Membership change of Tournament {} conflicted, retrying (attempt {})", tournamentId, attempt);
+                pause(attempt);
+            }
+        }
+    }
+
+    static boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException && ((MongoException) cause).hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void pause(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L * attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a membership change", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.service;
+
+import org.example.model.Connection;
+import org.example.model.TournamentFilter;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.TournamentMembership;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of the tournament GraphQL queries. Backed by the blocking repositories by default and by the reactive
+ * driver when {@code app.mongo.reactive.enabled=true}. List queries take the tournament properties to read, see
+ * {@link org.example.graphql.TournamentProjection}; {@code null} reads whole documents. Stream queries emit items as
+ * they come off the Mongo cursor.
+ */
+public interface TournamentQueryService {
+    Mono<Connection<Tournament>> getTournaments(Integer first, String after, TournamentFilter filter, Collection<String> fields);
+    Mono<Connection<Tournament>> joinedTournaments(String userId, Integer first, String after, Collection<String> fields);
+    Flux<Tournament> createdTournaments(String userId, Collection<String> fields);
+    Mono<Connection<TournamentMembership>> getParticipants(String tournamentId, Integer first, String after);
+    Mono<Map<String, List<TournamentMembership>>> getRosters(Collection<String> tournamentIds, int limit);
+    Mono<Map<String, List<Tournament>>> getTournamentsByUserIds(Collection<String> userIds);
+    Flux<Tournament> streamTournaments(TournamentFilter filter, Collection<String> fields);
+}
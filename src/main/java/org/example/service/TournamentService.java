@@ -2,28 +2,61 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.example.error.InvalidTournamentInputException;
+import org.example.error.TournamentFullException;
 import org.example.error.UserAlreadyJoinException;
 import org.example.error.UserDidNotJoinException;
 import org.example.error.WrongUserException;
 import org.example.mapper.TournamentMapper;
+import org.example.model.Connection;
 import org.example.model.CreateTournamentInput;
+import org.example.model.Cursor;
+import org.example.model.EditTournamentInput;
+import org.example.model.Edge;
+import org.example.model.JoinStatus;
+import org.example.model.PageInfo;
+import org.example.model.TournamentFilter;
+import org.example.model.TournamentImportResult;
 import org.example.model.entity.Tournament;
-import org.example.model.entity.User;
+import org.example.model.entity.TournamentMembership;
+import org.example.repository.TournamentMembershipRepository;
+import org.example.repository.TournamentQueries;
 import org.example.repository.TournamentRepository;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TournamentService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final TournamentRepository tournamentRepository;
 
+    private final TournamentMembershipRepository tournamentMembershipRepository;
+
+    private final TournamentEventPublisher tournamentEventPublisher;
+
     public Tournament saveTournament(Tournament tournament) {
         log.info("Saving new Tournament {} to the database", tournament.getName());
-        return tournamentRepository.save(tournament);
+        Tournament savedTournament = tournamentRepository.save(tournament);
+        tournamentEventPublisher.tournamentChanged(savedTournament);
+        return savedTournament;
     }
 
     public Tournament getTournament(String tournamentId) {
@@ -31,49 +64,265 @@ public class TournamentService {
         return tournamentRepository.findById(tournamentId).orElseThrow();
     }
 
-    public List<Tournament> getTournaments() {
-        return tournamentRepository.findAll();
+    public Connection<Tournament> getTournaments(Integer first, String after, TournamentFilter filter, Collection<String> fields) {
+        int pageSize = pageSize(first);
+        return toConnection(tournamentRepository.findPage(filter, Cursor.decode(after), pageSize + 1, fields), pageSize);
+    }
+
+    public static int pageSize(Integer first) {
+        return first == null ? DEFAULT_PAGE_SIZE : Math.max(0, Math.min(first, MAX_PAGE_SIZE));
+    }
+
+    public static Connection<Tournament> toConnection(List<Tournament> tournaments, int pageSize) {
+        return toConnection(tournaments, pageSize, Tournament::getId);
+    }
+
+    /**
+     * Builds a connection from a page fetched with {@code pageSize + 1} as limit; the extra element only signals
+     * that a next page exists.
+     */
+    public static <T> Connection<T> toConnection(List<T> nodes, int pageSize, Function<T, String> idOf) {
+        boolean hasNextPage = nodes.size() > pageSize;
+        List<Edge<T>> edges = nodes.stream()
+                .limit(pageSize)
+                .map(node -> new Edge<>(Cursor.encode(idOf.apply(node)), node))
+                .collect(Collectors.toList());
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+        return new Connection<>(edges, new PageInfo(hasNextPage, endCursor));
+    }
+
+    /**
+     * Builds a connection of joined tournaments from a page of memberships fetched with {@code pageSize + 1} as
+     * limit. Cursors are membership ids; memberships of deleted tournaments are skipped.
+     */
+    public static Connection<Tournament> toJoinedConnection(List<TournamentMembership> memberships, List<Tournament> tournaments, int pageSize) {
+        Map<String, Tournament> tournamentsById = tournaments.stream().collect(Collectors.toMap(Tournament::getId, Function.identity()));
+        List<TournamentMembership> page = memberships.subList(0, Math.min(pageSize, memberships.size()));
+        List<Edge<Tournament>> edges = page.stream()
+                .filter(membership -> tournamentsById.containsKey(membership.getTournamentId()))
+                .map(membership -> new Edge<>(Cursor.encode(membership.getId()), tournamentsById.get(membership.getTournamentId())))
+                .collect(Collectors.toList());
+        String endCursor = page.isEmpty() ? null : Cursor.encode(page.get(page.size() - 1).getId());
+        return new Connection<>(edges, new PageInfo(memberships.size() > pageSize, endCursor));
+    }
+
+    public static List<String> tournamentIdsOf(List<TournamentMembership> memberships, int pageSize) {
+        return memberships.stream().limit(pageSize).map(TournamentMembership::getTournamentId).collect(Collectors.toList());
+    }
+
+    /**
+     * Groups the tournaments each user created or joined by user id, without duplicates.
+     */
+    public static Map<String, List<Tournament>> groupByUser(List<TournamentMembership> memberships, List<Tournament> owned, List<Tournament> joined) {
+        Map<String, Tournament> joinedById = joined.stream().collect(Collectors.toMap(Tournament::getId, Function.identity()));
+        Map<String, Map<String, Tournament>> tournamentsByUser = new LinkedHashMap<>();
+        owned.forEach(tournament -> tournamentsByUser.computeIfAbsent(tournament.getOwnerId(), userId -> new LinkedHashMap<>())
+                .put(tournament.getId(), tournament));
+        for (TournamentMembership membership : memberships) {
+            Tournament tournament = joinedById.get(membership.getTournamentId());
+            if (tournament != null) {
+                tournamentsByUser.computeIfAbsent(membership.getUserId(), userId -> new LinkedHashMap<>())
+                        .putIfAbsent(tournament.getId(), tournament);
+            }
+        }
+        Map<String, List<Tournament>> result = new LinkedHashMap<>();
+        tournamentsByUser.forEach((userId, tournaments) -> result.put(userId, new ArrayList<>(tournaments.values())));
+        return result;
     }
 
-    public List<Tournament> joinedTournaments(String userId) {
-        return tournamentRepository.findByUserListContaining(userId);
+    public Connection<Tournament> joinedTournaments(String userId, Integer first, String after, Collection<String> fields) {
+        int pageSize = pageSize(first);
+        List<TournamentMembership> memberships = tournamentMembershipRepository.findJoinedBy(userId, Cursor.decode(after), pageSize + 1);
+        List<Tournament> tournaments = memberships.isEmpty() ? List.of()
+                : tournamentRepository.findByIds(tournamentIdsOf(memberships, pageSize), fields);
+        return toJoinedConnection(memberships, tournaments, pageSize);
     }
 
-    public List<Tournament> createdTournaments(String userId) {
-        return tournamentRepository.findByOwnerId(userId);
+    public Connection<TournamentMembership> getParticipants(String tournamentId, Integer first, String after) {
+        int pageSize = pageSize(first);
+        return toConnection(tournamentMembershipRepository.findRoster(tournamentId, Cursor.decode(after), pageSize + 1), pageSize, TournamentMembership::getId);
+    }
+
+    /**
+     * The first {@code limit} active memberships of each tournament with one query, keyed by tournament id.
+     */
+    public Map<String, List<TournamentMembership>> getRosters(Collection<String> tournamentIds, int limit) {
+        return groupByTournament(tournamentMembershipRepository.findRosters(tournamentIds, limit));
+    }
+
+    public static Map<String, List<TournamentMembership>> groupByTournament(List<TournamentMembership> memberships) {
+        return memberships.stream().collect(Collectors.groupingBy(TournamentMembership::getTournamentId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    public Map<String, List<Tournament>> getTournamentsByUserIds(Collection<String> userIds) {
+        List<TournamentMembership> memberships = tournamentMembershipRepository.findJoinedByAny(userIds);
+        List<Tournament> joined = memberships.isEmpty() ? List.of() : tournamentRepository.findByIdIn(memberships.stream()
+                .map(TournamentMembership::getTournamentId)
+                .collect(Collectors.toSet()));
+        return groupByUser(memberships, tournamentRepository.findByOwnerIdIn(userIds), joined);
+    }
+
+    public List<Tournament> createdTournaments(String userId, Collection<String> fields) {
+        return tournamentRepository.findOwnedBy(userId, fields);
+    }
+
+    public Stream<Tournament> streamTournaments(TournamentFilter filter, Collection<String> fields) {
+        return tournamentRepository.streamAll(filter, fields);
     }
 
     public Tournament createTournament(CreateTournamentInput createTournamentInput, String userId) {
+        validate(createTournamentInput);
         Tournament tournament = TournamentMapper.INSTANCE.createTournamentInputToTournament(createTournamentInput);
         tournament.setOwnerId(userId);
         return saveTournament(tournament);
     }
 
-    public Tournament joinTournament(Tournament tournament, User user) {
-        if (tournament.getUserList().contains(user.getId())) {
-            log.error("You already joined tournament!");
-            throw new UserAlreadyJoinException("You already joined tournament!", "user id");
+    /**
+     * Creates the tournaments with one bulk write. Inputs that cannot be mapped or inserted are reported in their
+     * result and do not prevent the others from being created.
+     */
+    public List<TournamentImportResult> createTournaments(List<CreateTournamentInput> createTournamentInputs, String userId) {
+        List<TournamentImportResult> results = new ArrayList<>();
+        List<Tournament> tournaments = new ArrayList<>();
+        List<TournamentImportResult> pending = new ArrayList<>();
+        for (int i = 0; i < createTournamentInputs.size(); i++) {
+            TournamentImportResult result = new TournamentImportResult(i, null, null);
+            results.add(result);
+            try {
+                validate(createTournamentInputs.get(i));
+                Tournament tournament = TournamentMapper.INSTANCE.createTournamentInputToTournament(createTournamentInputs.get(i));
+                tournament.setId(new ObjectId().toHexString());
+                tournament.setOwnerId(userId);
+                tournaments.add(tournament);
+                pending.add(result);
+            } catch (RuntimeException ex) {
+                result.setError("Invalid tournament input: " + ex.getMessage());
+            }
         }
-        tournament.getUserList().add(user.getId());
-        return saveTournament(tournament);
+
+        Map<Integer, String> errors = tournamentRepository.insertAll(tournaments);
+        for (int i = 0; i < tournaments.size(); i++) {
+            if (errors.containsKey(i)) {
+                pending.get(i).setError(errors.get(i));
+            } else {
+                pending.get(i).setTournament(tournaments.get(i));
+            }
+        }
+        log.info("Created {} of {} tournaments for User {}", tournaments.size() - errors.size(), createTournamentInputs.size(), userId);
+        return results;
+    }
+
+    /**
+     * A tournament without a free slot could never be joined, as {@code reserveSlots} only matches tournaments with
+     * room for the participants.
+     */
+    private static void validate(CreateTournamentInput createTournamentInput) {
+        if (createTournamentInput.getMaxParticipants() != null && createTournamentInput.getMaxParticipants() < 1) {
+            throw new InvalidTournamentInputException("maxParticipants must be at least 1", "maxParticipants");
+        }
+    }
+
+    /**
+     * Takes a slot in the tournament, which also proves that it exists, then activates the user's membership; the
+     * slot is released again if the user had already joined.
+     */
+    public Tournament joinTournament(String tournamentId, String userId) {
+        Tournament tournament = tournamentRepository.reserveSlots(tournamentId, 1);
+        if (tournament == null) {
+            requireTournamentExists(tournamentId);
+            if (!tournamentMembershipRepository.findJoinedUserIds(tournamentId, List.of(userId)).isEmpty()) {
+                throw alreadyJoined();
+            }
+            log.error("Tournament {} is full", tournamentId);
+            throw new TournamentFullException("Tournament is full!", "tournament id");
+        }
+        if (!tournamentMembershipRepository.join(tournamentId, userId)) {
+            tournamentRepository.releaseSlots(tournamentId, 1);
+            throw alreadyJoined();
+        }
+        log.info("User {} joined Tournament {}", userId, tournamentId);
+        tournamentEventPublisher.tournamentChanged(tournament);
+        return tournament;
+    }
+
+    private static UserAlreadyJoinException alreadyJoined() {
+        log.error("You already joined tournament!");
+        return new UserAlreadyJoinException("You already joined tournament!", "user id");
     }
 
-    public Tournament unjoinTournament(Tournament tournament, User user) {
-        if (!tournament.getUserList().contains(user.getId())) {
+    /**
+     * Takes a slot for each user that has not joined yet in one atomic update, then activates their memberships with
+     * one bulk write. If the tournament cannot take all of them, none of them join. Slots of users that joined
+     * concurrently in between are released again.
+     *
+     * @return the join status of every user id
+     */
+    public Map<String, JoinStatus> joinTournamentAsTeam(String tournamentId, Collection<String> userIds) {
+        Set<String> joinedUserIds = tournamentMembershipRepository.findJoinedUserIds(tournamentId, userIds);
+        List<String> candidateIds = userIds.stream().filter(userId -> !joinedUserIds.contains(userId)).collect(Collectors.toList());
+        Map<String, JoinStatus> statuses = new LinkedHashMap<>();
+        userIds.forEach(userId -> statuses.put(userId, JoinStatus.ALREADY_JOINED));
+        if (candidateIds.isEmpty()) {
+            return statuses;
+        }
+        Tournament tournament = tournamentRepository.reserveSlots(tournamentId, candidateIds.size());
+        if (tournament == null) {
+            requireTournamentExists(tournamentId);
+            candidateIds.forEach(userId -> statuses.put(userId, JoinStatus.TOURNAMENT_FULL));
+            log.info("Team of {} users could not join Tournament {}", candidateIds.size(), tournamentId);
+            return statuses;
+        }
+        List<String> newUserIds = tournamentMembershipRepository.joinAll(tournamentId, candidateIds);
+        newUserIds.forEach(userId -> statuses.put(userId, JoinStatus.JOINED));
+        if (newUserIds.size() < candidateIds.size()) {
+            tournament = tournamentRepository.releaseSlots(tournamentId, candidateIds.size() - newUserIds.size());
+        }
+        if (newUserIds.isEmpty()) {
+            return statuses;
+        }
+        log.info("Team of {} users joined Tournament {}", newUserIds.size(), tournamentId);
+        tournamentEventPublisher.tournamentChanged(tournament);
+        return statuses;
+    }
+
+    public Tournament unjoinTournament(String tournamentId, String userId) {
+        if (!tournamentMembershipRepository.leave(tournamentId, userId)) {
+            requireTournamentExists(tournamentId);
             log.error("You didn't joined tournament!");
             throw new UserDidNotJoinException("You didn't joined tournament!", "user id");
         }
-        tournament.getUserList().remove(user.getId());
-        return saveTournament(tournament);
+        Tournament tournament = tournamentRepository.releaseSlots(tournamentId, 1);
+        if (tournament == null) {
+            throw new NoSuchElementException("Tournament " + tournamentId + " not found");
+        }
+        log.info("User {} left Tournament {}", userId, tournamentId);
+        tournamentEventPublisher.tournamentChanged(tournament);
+        return tournament;
     }
 
-    public Tournament editTournament(Tournament tournament, String userId) {
-        if (!tournament.getOwnerId().equals(userId)) {
+    /**
+     * Sets only the edited fields, in one update that also checks the ownership. The tournament is never saved as a
+     * whole, as that would overwrite the participant count of joins that happened since it was read.
+     */
+    public Tournament editTournament(EditTournamentInput editTournamentInput, String userId) {
+        String tournamentId = editTournamentInput.getId();
+        Update update = TournamentQueries.edit(editTournamentInput);
+        Tournament tournament = update.getUpdateObject().isEmpty()
+                ? tournamentRepository.findById(tournamentId).filter(found -> userId.equals(found.getOwnerId())).orElse(null)
+                : tournamentRepository.updateOwned(tournamentId, userId, update);
+        if (tournament == null) {
+            requireTournamentExists(tournamentId);
             log.error("This tournament wasn't created by you !");
             throw new WrongUserException("This tournament wasn't created by you !");
         }
-
-        return saveTournament(tournament);
+        log.info("Edited Tournament {}", tournamentId);
+        tournamentEventPublisher.tournamentChanged(tournament);
+        return tournament;
     }
 
+    private void requireTournamentExists(String tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new NoSuchElementException("Tournament " + tournamentId + " not found");
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.model.entity.User;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Read side of the user GraphQL queries, see {@link TournamentQueryService}.
+ */
+public interface UserQueryService {
+    Flux<User> getUsers();
+    Flux<User> getUsersByIds(Collection<String> userIds);
+    Flux<User> streamUsers();
+}
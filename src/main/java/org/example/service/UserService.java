@@ -1,24 +1,27 @@
 package org.example.service;
 
 import org.example.model.EditUserInput;
-import org.example.model.entity.Tournament;
 import org.example.model.entity.User;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Service
 public interface UserService {
     User saveOrUpdate(User user);
     User createUser(User user);
+    CompletableFuture<User> createUserAsync(User user);
     User getUser(String userName);
+    String getUserId(String userName);
     User getUserById(String userId);
     List<User> getUsers();
+    Stream<User> streamUsers();
+    List<User> getUsersByIds(Collection<String> userIds);
+    List<User> getUsersByUsernames(Collection<String> usernames);
     String passwordEncode(String password);
 
-    void addTournamentIdToUser(Tournament tournament, User user);
-
-    void removeTournamentIdFromUser(Tournament tournament, User user);
-
-    User editUser(EditUserInput editUserInput, String authenticatedUsername);
+    CompletableFuture<User> editUser(EditUserInput editUserInput, String authenticatedUsername);
 }
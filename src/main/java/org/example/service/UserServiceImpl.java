@@ -1,20 +1,21 @@
 package org.example.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.config.security.AuthenticatedUser;
 import org.example.error.UserAlreadyExistsException;
+import org.example.error.UserNotFoundException;
 import org.example.error.WrongUserException;
 import org.example.mapper.UserMapper;
 import org.example.model.EditUserInput;
-import org.example.model.entity.Tournament;
 import org.example.model.entity.User;
-import org.example.repository.RoleRepository;
 import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
@@ -22,15 +23,26 @@ import org.springframework.util.ObjectUtils;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class UserServiceImpl implements UserService, UserDetailsService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RoleRegistry roleRegistry;
+    private final PasswordHashingService passwordHashingService;
+    private final Executor requestExecutor;
+
+    public UserServiceImpl(UserRepository userRepository, RoleRegistry roleRegistry, PasswordHashingService passwordHashingService,
+                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor requestExecutor) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordHashingService = passwordHashingService;
+        this.requestExecutor = requestExecutor;
+    }
 
     @Override
     public User saveOrUpdate(User user) {
@@ -40,13 +52,34 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     @Override
     public User createUser(User user) {
+        checkUsernameAvailable(user);
+        log.info("Creating new User {} to the database", user.getName());
+        return saveNewUser(user, passwordHashingService.encode(user.getPassword()));
+    }
+
+    @Override
+    public CompletableFuture<User> createUserAsync(User user) {
+        checkUsernameAvailable(user);
+        log.info("Creating new User {} to the database", user.getName());
+        // the save must not hold one of the few hashing threads while it waits for Mongo
+        return passwordHashingService.encodeAsync(user.getPassword())
+                .thenApplyAsync(encodedPassword -> saveNewUser(user, encodedPassword), requestExecutor);
+    }
+
+    private void checkUsernameAvailable(User user) {
         if(userRepository.findUserByUsername(user.getUsername()) != null ) {
             throw new UserAlreadyExistsException("A user already exists with this username, please try another one");
         }
-        log.info("Creating new User {} to the database", user.getName());
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        user.getRoleList().add(roleRepository.findByName("ROLE_USER"));
-        return userRepository.save(user);
+    }
+
+    private User saveNewUser(User user, String encodedPassword) {
+        user.setPassword(encodedPassword);
+        user.getRoleList().add(roleRegistry.findByName("ROLE_USER"));
+        try {
+            return userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new UserAlreadyExistsException("A user already exists with this username, please try another one");
+        }
     }
 
     @Override
@@ -54,6 +87,15 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         return userRepository.findUserByUsername(username);
     }
 
+    @Override
+    public String getUserId(String username) {
+        User user = userRepository.findIdByUsername(username);
+        if (user == null) {
+            throw new UserNotFoundException("User not found", "username");
+        }
+        return user.getId();
+    }
+
     @Override
     public User getUserById(String userId) {
         return userRepository.findUserById(userId);
@@ -64,9 +106,24 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         return userRepository.findAll();
     }
 
+    @Override
+    public Stream<User> streamUsers() {
+        return userRepository.streamAllBy();
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        return userRepository.findByIdIn(userIds);
+    }
+
+    @Override
+    public List<User> getUsersByUsernames(Collection<String> usernames) {
+        return userRepository.findByUsernameIn(usernames);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findUserByUsername(username);
+        User user = userRepository.findCredentialsByUsername(username);
         if(user == null){
             log.error("User not found in DB");
             throw new UsernameNotFoundException("User not found in DB");
@@ -74,34 +131,27 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         log.info("User found in DB {}", username);
         Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
         user.getRoleList().forEach(role -> authorities.add(new SimpleGrantedAuthority(role.getName())));
-        return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(), authorities);
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), authorities);
     }
 
     public String passwordEncode(String password){
-        return passwordEncoder.encode(password);
-    }
-
-    @Override
-    public void addTournamentIdToUser(Tournament tournament, User user) {
-        user.getTournamentId().add(tournament.getId());
-        saveOrUpdate(user);
+        return passwordHashingService.encode(password);
     }
 
     @Override
-    public void removeTournamentIdFromUser(Tournament tournament, User user) {
-        user.getTournamentId().remove(tournament.getId());
-        saveOrUpdate(user);
-    }
-
-    @Override
-    public User editUser(EditUserInput editUserInput, String authenticatedUsername) {
-        if (editUserInput != null && !ObjectUtils.isEmpty(editUserInput.getPassword())) editUserInput.setPassword(passwordEncode(editUserInput.getPassword()));
-        assert editUserInput != null;
+    public CompletableFuture<User> editUser(EditUserInput editUserInput, String authenticatedUsername) {
         User user = getUserById(editUserInput.getId());
         if(!user.getUsername().equals(authenticatedUsername)){
             throw new WrongUserException("You are not the right user for this process!");
         }
-        user = UserMapper.INSTANCE.editUserInputToUser(editUserInput, user);
-        return saveOrUpdate(user);
+        if (ObjectUtils.isEmpty(editUserInput.getPassword())) {
+            return CompletableFuture.completedFuture(saveOrUpdate(UserMapper.INSTANCE.editUserInputToUser(editUserInput, user)));
+        }
+        // like createUserAsync, the request thread is released while hashing and the save runs off the hashing threads
+        return passwordHashingService.encodeAsync(editUserInput.getPassword())
+                .thenApplyAsync(encodedPassword -> {
+                    editUserInput.setPassword(encodedPassword);
+                    return saveOrUpdate(UserMapper.INSTANCE.editUserInputToUser(editUserInput, user));
+                }, requestExecutor);
     }
 }
@@ -2,6 +2,7 @@ package org.example.integration.controller;
 
 import org.example.DBTestConfig;
 import org.example.model.entity.Tournament;
+import org.example.repository.TournamentMembershipRepository;
 import org.example.repository.TournamentRepository;
 import org.example.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -26,6 +28,9 @@ public class TournamentControllerIntTest extends DBTestConfig {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    TournamentMembershipRepository tournamentMembershipRepository;
+
     @Autowired
     GraphQlTester graphQlTester;
 
@@ -38,22 +43,65 @@ public class TournamentControllerIntTest extends DBTestConfig {
         String document = """
         query {
         tournaments {
-                id
-                name
-                game
-                ownerId
-                userList
+                edges {
+                    node {
+                        id
+                        name
+                        game
+                        ownerId
+                        participantCount
+                    }
                 }
+            }
         }
         """;
 
         graphQlTester.document(document)
                 .execute()
-                .path("tournaments")
+                .path("tournaments.edges[*].node")
                 .entityList(Tournament.class)
                 .satisfies(tournaments -> assertThat(tournaments.size()).isGreaterThanOrEqualTo(2));
     }
 
+    @Test
+    void testTournaments_withFilterAndPagination(){
+
+        //language=GraphQL
+        String document = """
+        query($after : String) {
+        tournaments(first: 1, after: $after, filter: { region: "TR" }) {
+                edges {
+                    node {
+                        id
+                        region
+                    }
+                }
+                pageInfo {
+                    hasNextPage
+                    endCursor
+                }
+            }
+        }
+        """;
+
+        GraphQlTester.Response firstPage = graphQlTester.document(document).execute();
+        firstPage.path("tournaments.edges[*].node")
+                .entityList(Tournament.class)
+                .satisfies(tournaments -> {
+                    assertThat(tournaments.size()).isEqualTo(1);
+                    assertThat(tournaments.get(0).getRegion()).isEqualTo("TR");
+                });
+        firstPage.path("tournaments.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true);
+        String endCursor = firstPage.path("tournaments.pageInfo.endCursor").entity(String.class).get();
+
+        graphQlTester.document(document)
+                .variable("after", endCursor)
+                .execute()
+                .path("tournaments.edges[*].node")
+                .entityList(Tournament.class)
+                .satisfies(tournaments -> assertThat(tournaments.size()).isEqualTo(1));
+    }
+
     @Test
     @WithMockUser( username = "user3")
     void testJoinedTournaments_withUser(){
@@ -61,15 +109,19 @@ public class TournamentControllerIntTest extends DBTestConfig {
         String document = """
         query {
                  joinedTournaments {
-                     id
-                     game
+                     edges {
+                         node {
+                             id
+                             game
+                         }
+                     }
                  }
              }
         """;
 
         graphQlTester.document(document)
                 .execute()
-                .path("joinedTournaments")
+                .path("joinedTournaments.edges[*].node")
                 .entityList(Tournament.class)
                 .satisfies(tournaments -> assertThat(tournaments.size()).isGreaterThanOrEqualTo(1));
     }
@@ -80,8 +132,11 @@ public class TournamentControllerIntTest extends DBTestConfig {
         String document = """
         query {
                  joinedTournaments {
-                     id
-                     game
+                     edges {
+                         node {
+                             id
+                         }
+                     }
                  }
              }
         """;
@@ -96,6 +151,48 @@ public class TournamentControllerIntTest extends DBTestConfig {
                 .path("joinedTournaments");
     }
 
+    @Test
+    void testTournamentUpdated_withoutUser_giveUnauthorized(){
+        //language=GraphQL
+        String document = """
+        subscription {
+                 tournamentUpdated(id: "1") {
+                     id
+                     name
+                 }
+             }
+        """;
+
+        graphQlTester.document(document)
+                .execute()
+                .errors()
+                .satisfy(responseErrors -> {
+                    assertThat(responseErrors).isNotEmpty();
+                    assertEquals(responseErrors.get(0).getMessage(), "Unauthorized");
+                });
+    }
+
+    @Test
+    void testTournamentRosterChanged_withoutUser_giveUnauthorized(){
+        //language=GraphQL
+        String document = """
+        subscription {
+                 tournamentRosterChanged(id: "1") {
+                     tournamentId
+                     participantCount
+                 }
+             }
+        """;
+
+        graphQlTester.document(document)
+                .execute()
+                .errors()
+                .satisfy(responseErrors -> {
+                    assertThat(responseErrors).isNotEmpty();
+                    assertEquals(responseErrors.get(0).getMessage(), "Unauthorized");
+                });
+    }
+
     @Test
     @WithMockUser( username = "user1")
     void testCreatedTournaments_withUser(){
@@ -113,7 +210,7 @@ public class TournamentControllerIntTest extends DBTestConfig {
                   dateTime
                   region
                   ownerId
-                  userList
+                  participantCount
                 }
               }
         """;
@@ -171,7 +268,7 @@ public class TournamentControllerIntTest extends DBTestConfig {
     @WithMockUser( username = "user4")
     void testJoinTournament(){
         String userId = userRepository.findUserByUsername("user4").getId();
-        Tournament tournament1 = tournamentRepository.findAll().stream().filter(tournament -> !tournament.getUserList().contains(userId)).findFirst().orElseThrow();
+        Tournament tournament1 = tournamentRepository.findAll().stream().filter(tournament -> !isMember(tournament, userId)).findFirst().orElseThrow();
 
         //language=GraphQL
         String document = """
@@ -180,7 +277,7 @@ public class TournamentControllerIntTest extends DBTestConfig {
             id
             name
             game
-            userList
+            participantCount
           }
         }
         """;
@@ -190,14 +287,17 @@ public class TournamentControllerIntTest extends DBTestConfig {
                 .execute()
                 .path("joinTournament")
                 .entity(Tournament.class)
-                .satisfies(tournament -> assertThat(tournament.getUserList()).contains(userId));
+                .satisfies(tournament -> {
+                    assertThat(tournament.getParticipantCount()).isEqualTo(tournament1.getParticipantCount() + 1);
+                    assertThat(isMember(tournament, userId)).isTrue();
+                });
     }
 
     @Test
     @WithMockUser( username = "user3")
     void testUnjoinTournament(){
         String userId = userRepository.findUserByUsername("user3").getId();
-        Tournament tournament1 = tournamentRepository.findAll().stream().filter(tournament -> tournament.getUserList().contains(userId)).findFirst().orElseThrow();
+        Tournament tournament1 = tournamentRepository.findAll().stream().filter(tournament -> isMember(tournament, userId)).findFirst().orElseThrow();
 
         //language=GraphQL
         String document = """
@@ -206,7 +306,7 @@ public class TournamentControllerIntTest extends DBTestConfig {
             id
             name
             game
-            userList
+            participantCount
           }
         }
         """;
@@ -216,7 +316,10 @@ public class TournamentControllerIntTest extends DBTestConfig {
                 .execute()
                 .path("unjoinTournament")
                 .entity(Tournament.class)
-                .satisfies(tournament -> assertThat(tournament.getUserList()).doesNotContain(userId));
+                .satisfies(tournament -> {
+                    assertThat(tournament.getParticipantCount()).isEqualTo(tournament1.getParticipantCount() - 1);
+                    assertThat(isMember(tournament, userId)).isFalse();
+                });
     }
 
     @Test
@@ -276,4 +379,9 @@ public class TournamentControllerIntTest extends DBTestConfig {
                 .path("editTournament");
     }
 
-}
\ No newline at end of file
+
+    private boolean isMember(Tournament tournament, String userId) {
+        return tournamentMembershipRepository.findJoinedByAny(List.of(userId)).stream()
+                .anyMatch(membership -> membership.getTournamentId().equals(tournament.getId()));
+    }
+}
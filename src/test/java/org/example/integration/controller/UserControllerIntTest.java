@@ -8,6 +8,7 @@ import org.example.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.graphql.test.tester.GraphQlTester;
 import org.springframework.security.test.context.support.WithMockUser;
 
@@ -112,6 +113,25 @@ public class UserControllerIntTest extends DBTestConfig {
                 .path("editUser");
     }
 
+    @Test
+    @WithMockUser(username = "user3")
+    void testStreamUsers_withoutAdminRole_giveForbidden() {
+        //language=GraphQL
+        String document = """
+                subscription{
+                        streamUsers{
+                          username
+                          password
+                        }
+                      }
+                """;
+
+        graphQlTester.document(document)
+                .execute()
+                .errors()
+                .satisfy(responseErrors -> assertThat(responseErrors.get(0).getErrorType()).isEqualTo(ErrorType.FORBIDDEN));
+    }
+
     @Test
     void testRegisterUser() {
         //language=GraphQL
@@ -0,0 +1,320 @@
+package org.example.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.DBTestConfig;
+import org.example.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a mix of logins, tournament listings, join storms on one hot tournament and user edits against the running
+ * application and embedded Mongo. Excluded from the default build, run it with {@code mvn -Pload-test test}.
+ * <p>
+ * Latencies are recorded with HdrHistogram during the concurrent run. Allocation per operation is measured in a
+ * separate single-threaded pass over each operation, summing the bytes allocated by every thread of the JVM, so it
+ * includes the server side of the request.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class GraphQlLoadTest extends DBTestConfig {
+
+    private static final List<String> OPERATIONS = List.of("login", "tournaments", "joinTournament", "unjoinTournament", "editUser");
+
+    //language=GraphQL
+    private static final String TOURNAMENTS = "query { tournaments(first: 20) { edges { node { id name game participantCount } } pageInfo { hasNextPage endCursor } } }";
+
+    //language=GraphQL
+    private static final String JOIN = "mutation($id: String) { joinTournament(tournamentId: $id) { id participantCount } }";
+
+    //language=GraphQL
+    private static final String UNJOIN = "mutation($id: String) { unjoinTournament(tournamentId: $id) { id participantCount } }";
+
+    //language=GraphQL
+    private static final String EDIT_USER = "mutation($input: EditUserInput!) { editUser(editUserInput: $input) { id name } }";
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Value("${load.users:100000}")
+    int users;
+
+    @Value("${load.tournaments:50000}")
+    int tournaments;
+
+    @Value("${load.memberships-per-user:2}")
+    int membershipsPerUser;
+
+    @Value("${load.threads:32}")
+    int threads;
+
+    @Value("${load.duration:PT1M}")
+    Duration duration;
+
+    @Value("${load.allocation-samples:200}")
+    int allocationSamples;
+
+    @Value("${load.report:target/load-test-report.json}")
+    Path report;
+
+    final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    LoadTestFixtures fixtures;
+
+    @BeforeAll
+    void seedAtScale() {
+        fixtures = new LoadTestFixtures().seed(mongoTemplate, passwordEncoder.encode(LoadTestFixtures.PASSWORD),
+                roleRepository.findByName("ROLE_USER"), users, tournaments, membershipsPerUser);
+    }
+
+    @Test
+    void replayWorkloadMix() throws Exception {
+        Map<String, Double> allocatedBytes = measureAllocations();
+
+        Map<String, Histogram> latencies = new LinkedHashMap<>();
+        Map<String, LongAdder> errors = new LinkedHashMap<>();
+        OPERATIONS.forEach(operation -> {
+            latencies.put(operation, new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3));
+            errors.put(operation, new LongAdder());
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> virtualUsers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            virtualUsers.add(executor.submit(() -> {
+                runVirtualUser(thread, deadline, latencies, errors);
+                return null;
+            }));
+        }
+        for (Future<?> virtualUser : virtualUsers) {
+            virtualUser.get();
+        }
+        executor.shutdown();
+
+        ObjectNode result = objectMapper.createObjectNode()
+                .put("users", users).put("tournaments", tournaments).put("threads", threads)
+                .put("durationSeconds", duration.toSeconds());
+        ObjectNode operations = result.putObject("operations");
+        for (String operation : OPERATIONS) {
+            Histogram histogram = latencies.get(operation);
+            operations.putObject(operation)
+                    .put("count", histogram.getTotalCount())
+                    .put("errors", errors.get(operation).sum())
+                    .put("throughputPerSecond", histogram.getTotalCount() / (double) duration.toSeconds())
+                    .put("p50Millis", histogram.getValueAtPercentile(50) / 1e6)
+                    .put("p99Millis", histogram.getValueAtPercentile(99) / 1e6)
+                    .put("p999Millis", histogram.getValueAtPercentile(99.9) / 1e6)
+                    .put("maxMillis", histogram.getMaxValue() / 1e6)
+                    .put("allocatedBytesPerOperation", allocatedBytes.get(operation));
+        }
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), result);
+        log.info("Load test results, also written to {}:\n{}", report.toAbsolutePath(), objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+
+        assertThat(latencies.get("tournaments").getTotalCount()).isPositive();
+    }
+
+    /**
+     * Every virtual user owns a disjoint slice of the generated users, so its join and unjoin calls never race
+     * another virtual user's for the same membership.
+     */
+    private void runVirtualUser(int thread, long deadline, Map<String, Histogram> latencies, Map<String, LongAdder> errors) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Integer> slice = new ArrayList<>();
+        for (int i = thread; i < users; i += threads) {
+            slice.add(i);
+        }
+        if (slice.isEmpty()) {
+            return;
+        }
+        Set<Integer> joined = new HashSet<>();
+        Map<Integer, String> tokens = new LinkedHashMap<>();
+        while (System.nanoTime() < deadline) {
+            int user = slice.get(random.nextInt(slice.size()));
+            String token = tokens.get(user);
+            int roll = random.nextInt(100);
+            if (token == null || roll < 5) {
+                token = timed("login", latencies, errors, () -> login(LoadTestFixtures.username(user)));
+                if (token != null) {
+                    tokens.put(user, token);
+                }
+            } else if (roll < 55) {
+                String bearer = token;
+                timed("tournaments", latencies, errors, () -> graphQl(bearer, TOURNAMENTS, Map.of()));
+            } else if (roll < 90) {
+                String bearer = token;
+                boolean leave = joined.contains(user);
+                JsonNode response = timed(leave ? "unjoinTournament" : "joinTournament", latencies, errors,
+                        () -> graphQl(bearer, leave ? UNJOIN : JOIN, Map.of("id", fixtures.getHotTournamentId())));
+                if (response != null) {
+                    if (leave) {
+                        joined.remove(user);
+                    } else {
+                        joined.add(user);
+                    }
+                }
+            } else {
+                String bearer = token;
+                timed("editUser", latencies, errors, () -> graphQl(bearer, EDIT_USER,
+                        Map.of("input", Map.of("id", fixtures.getUserIds().get(user), "name", "name" + random.nextInt(1000)))));
+            }
+        }
+    }
+
+    private Map<String, Double> measureAllocations() throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<String, Histogram> latencies = new LinkedHashMap<>();
+        Map<String, LongAdder> errors = new LinkedHashMap<>();
+        OPERATIONS.forEach(operation -> {
+            latencies.put(operation, new Histogram(3));
+            errors.put(operation, new LongAdder());
+        });
+        String token = login(LoadTestFixtures.username(0));
+        Operation<JsonNode> join = () -> graphQl(token, JOIN, Map.of("id", fixtures.getHotTournamentId()));
+        Operation<JsonNode> unjoin = () -> graphQl(token, UNJOIN, Map.of("id", fixtures.getHotTournamentId()));
+        Map<String, Operation<?>> operations = new LinkedHashMap<>();
+        operations.put("login", () -> login(LoadTestFixtures.username(0)));
+        operations.put("tournaments", () -> graphQl(token, TOURNAMENTS, Map.of()));
+        operations.put("joinTournament", join);
+        operations.put("unjoinTournament", unjoin);
+        operations.put("editUser", () -> graphQl(token, EDIT_USER, Map.of("input", Map.of("id", fixtures.getUserIds().get(0), "name", "name0"))));
+
+        // warm-up, join and unjoin alternate so the hot tournament ends where it started
+        for (int sample = 0; sample < allocationSamples; sample++) {
+            for (Map.Entry<String, Operation<?>> operation : operations.entrySet()) {
+                timed(operation.getKey(), latencies, errors, operation.getValue());
+            }
+        }
+        Map<String, Double> allocatedBytes = new LinkedHashMap<>();
+        for (Map.Entry<String, Operation<?>> operation : operations.entrySet()) {
+            long allocated = 0;
+            for (int sample = 0; sample < allocationSamples; sample++) {
+                if (operation.getValue() == unjoin) {
+                    join.run();
+                }
+                long before = totalAllocatedBytes(threadMXBean);
+                timed(operation.getKey(), latencies, errors, operation.getValue());
+                allocated += totalAllocatedBytes(threadMXBean) - before;
+                if (operation.getValue() == join) {
+                    unjoin.run();
+                }
+            }
+            allocatedBytes.put(operation.getKey(), allocated / (double) allocationSamples);
+        }
+        return allocatedBytes;
+    }
+
+    private static long totalAllocatedBytes(com.sun.management.ThreadMXBean threadMXBean) {
+        long total = 0;
+        for (long allocated : threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+            total += Math.max(allocated, 0);
+        }
+        return total;
+    }
+
+    private <T> T timed(String operation, Map<String, Histogram> latencies, Map<String, LongAdder> errors, Operation<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.run();
+            latencies.get(operation).recordValue(System.nanoTime() - start);
+            if (result == null) {
+                errors.get(operation).increment();
+            }
+            return result;
+        } catch (Exception e) {
+            latencies.get(operation).recordValue(System.nanoTime() - start);
+            errors.get(operation).increment();
+            return null;
+        }
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(LoadTestFixtures.PASSWORD, StandardCharsets.UTF_8);
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri("/api/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        return objectMapper.readTree(response.body()).path("access_token").asText(null);
+    }
+
+    /**
+     * @return the response, or {@code null} if the request failed or returned GraphQL errors
+     */
+    private JsonNode graphQl(String token, String document, Map<String, Object> variables) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("query", document, "variables", variables));
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri("/graphql"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.hasNonNull("errors") ? null : json;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @FunctionalInterface
+    private interface Operation<T> {
+        T run() throws Exception;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.load;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.example.model.MembershipStatus;
+import org.example.model.entity.Role;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.TournamentMembership;
+import org.example.model.entity.User;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates users, tournaments and memberships at production scale with bulk inserts. Every user shares one password
+ * hash, so seeding does not run BCrypt once per user.
+ */
+@Slf4j
+@Getter
+public class LoadTestFixtures {
+
+    public static final String PASSWORD = "load-password";
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final List<String> userIds = new ArrayList<>();
+
+    private final List<String> usernames = new ArrayList<>();
+
+    private final List<String> tournamentIds = new ArrayList<>();
+
+    private String hotTournamentId;
+
+    public static String username(int index) {
+        return "load-user-" + index;
+    }
+
+    public LoadTestFixtures seed(MongoTemplate mongoTemplate, String passwordHash, Role userRole,
+                                 int users, int tournaments, int membershipsPerUser) {
+        long start = System.nanoTime();
+        Random random = new Random(42);
+
+        List<User> userBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            User user = new User(new ObjectId().toHexString(), "name" + i, "surname" + i, passwordHash, username(i), List.of(userRole));
+            userIds.add(user.getId());
+            usernames.add(user.getUsername());
+            userBatch.add(user);
+            if (userBatch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(userBatch, User.class);
+                userBatch.clear();
+            }
+        }
+        mongoTemplate.insert(userBatch, User.class);
+
+        for (int i = 0; i < tournaments; i++) {
+            tournamentIds.add(new ObjectId().toHexString());
+        }
+        // the first tournament is the hot one every join storm targets, it starts empty and has no capacity limit
+        int[] participantCounts = new int[tournaments];
+        int perUser = Math.min(membershipsPerUser, tournaments - 1);
+        List<TournamentMembership> membershipBatch = new ArrayList<>(BATCH_SIZE);
+        Instant joinedAt = Instant.now();
+        for (int i = 0; i < users && perUser > 0; i++) {
+            Set<Integer> joined = new HashSet<>();
+            while (joined.size() < perUser) {
+                joined.add(1 + random.nextInt(tournaments - 1));
+            }
+            for (int tournament : joined) {
+                participantCounts[tournament]++;
+                membershipBatch.add(new TournamentMembership(null, tournamentIds.get(tournament), userIds.get(i), joinedAt, MembershipStatus.JOINED));
+                if (membershipBatch.size() == BATCH_SIZE) {
+                    mongoTemplate.insert(membershipBatch, TournamentMembership.class);
+                    membershipBatch.clear();
+                }
+            }
+        }
+        mongoTemplate.insert(membershipBatch, TournamentMembership.class);
+
+        List<Tournament> tournamentBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < tournaments; i++) {
+            tournamentBatch.add(new Tournament(tournamentIds.get(i), "Tournament " + i, "Game" + (i % 20), BigDecimal.valueOf(100),
+                    "USD", 5, "Battle Royal", LocalDateTime.now().plusDays(i % 365), "Region" + (i % 10),
+                    userIds.isEmpty() ? null : userIds.get(random.nextInt(userIds.size())), participantCounts[i], null));
+            if (tournamentBatch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(tournamentBatch, Tournament.class);
+                tournamentBatch.clear();
+            }
+        }
+        mongoTemplate.insert(tournamentBatch, Tournament.class);
+        hotTournamentId = tournamentIds.isEmpty() ? null : tournamentIds.get(0);
+
+        log.info("Seeded {} users, {} tournaments and {} memberships in {} ms", users, tournaments, (long) users * Math.max(perUser, 0),
+                (System.nanoTime() - start) / 1_000_000);
+        return this;
+    }
+}
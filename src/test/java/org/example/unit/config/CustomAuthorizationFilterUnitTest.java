@@ -0,0 +1,65 @@
+package org.example.unit.config;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.example.config.security.AuthenticatedUser;
+import org.example.config.security.filter.CustomAuthorizationFilter;
+import org.example.service.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CustomAuthorizationFilterUnitTest {
+
+    List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    @Test
+    void givenTokenOfAuthenticatedUser_whenCreateAuthentication_thenPrincipalCarriesUserId() throws NoSuchAlgorithmException {
+        TokenService tokenService = tokenService();
+        String token = tokenService.generateToken(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser("1", "user1", null, authorities), null, authorities), 15);
+
+        Jwt jwt = tokenService.verifyToken(token);
+        Authentication authentication = CustomAuthorizationFilter.createAuthentication(jwt.getClaims());
+
+        assertThat(jwt.getClaimAsString("uid")).isEqualTo("1");
+        assertThat(authentication.getName()).isEqualTo("user1");
+        assertThat(AuthenticatedUser.idOf(authentication)).isEqualTo("1");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void givenTokenWithoutUserId_whenCreateAuthentication_thenFallBackToUsername() {
+        Authentication authentication = CustomAuthorizationFilter.createAuthentication(Map.of("sub", "user1", "roles", "ROLE_USER"));
+
+        assertThat(authentication.getName()).isEqualTo("user1");
+        assertThat(AuthenticatedUser.idOf(authentication)).isNull();
+    }
+
+    private static TokenService tokenService() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        RSAKey jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        return new TokenService(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk))),
+                NimbusJwtDecoder.withPublicKey(publicKey).build());
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.unit.config;
+
+import org.example.config.security.JwtAuthenticationCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtAuthenticationCacheUnitTest {
+
+    AtomicLong nanos = new AtomicLong();
+
+    JwtAuthenticationCache jwtAuthenticationCache = new JwtAuthenticationCache(2, nanos::get);
+
+    Authentication authentication = new UsernamePasswordAuthenticationToken("user1", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @Test
+    void givenCachedToken_whenGet_thenReturnAuthentication() {
+        jwtAuthenticationCache.put("token", authentication, Instant.now().plus(15, ChronoUnit.MINUTES));
+
+        assertThat(jwtAuthenticationCache.get("token")).isSameAs(authentication);
+        assertThat(jwtAuthenticationCache.get("other-token")).isNull();
+    }
+
+    @Test
+    void givenTokenPastExpiry_whenGet_thenReturnNull() {
+        jwtAuthenticationCache.put("token", authentication, Instant.now().plus(15, ChronoUnit.MINUTES));
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(16));
+
+        assertThat(jwtAuthenticationCache.get("token")).isNull();
+    }
+
+    @Test
+    void givenExpiredOrMissingExpiry_whenPut_thenDoNotCache() {
+        jwtAuthenticationCache.put("expired", authentication, Instant.now().minus(1, ChronoUnit.MINUTES));
+        jwtAuthenticationCache.put("no-expiry", authentication, null);
+
+        assertThat(jwtAuthenticationCache.get("expired")).isNull();
+        assertThat(jwtAuthenticationCache.get("no-expiry")).isNull();
+    }
+
+    @Test
+    void givenMoreTokensThanMaximumSize_whenPut_thenEvict() {
+        Instant expiresAt = Instant.now().plus(15, ChronoUnit.MINUTES);
+        jwtAuthenticationCache.put("token1", authentication, expiresAt);
+        jwtAuthenticationCache.put("token2", authentication, expiresAt);
+        jwtAuthenticationCache.put("token3", authentication, expiresAt);
+
+        assertThat(jwtAuthenticationCache.size()).isLessThanOrEqualTo(2);
+    }
+}
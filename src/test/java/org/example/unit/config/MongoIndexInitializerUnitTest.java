@@ -0,0 +1,129 @@
+package org.example.unit.config;
+
+import org.example.config.mongo.MongoIndexInitializer;
+import org.example.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MongoIndexInitializerUnitTest {
+
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    @Mock
+    IndexOperations indexOperations;
+
+    @Mock
+    IndexOperations roleIndexOperations;
+
+    MongoMappingContext mongoMappingContext = new MongoMappingContext();
+
+    MongoIndexInitializer mongoIndexInitializer;
+
+    MongoPersistentEntity<?> userEntity;
+
+    IndexInfo usernameIdIndex = new IndexInfo(List.of(IndexField.create("username", Sort.Direction.ASC), IndexField.create("_id", Sort.Direction.ASC)),
+            "username_id", false, false, null);
+
+    @BeforeEach
+    void setUp() {
+        mongoIndexInitializer = new MongoIndexInitializer(mongoTemplate, mongoMappingContext);
+        userEntity = mongoMappingContext.getRequiredPersistentEntity(User.class);
+        doReturn(indexOperations).when(mongoTemplate).indexOps("User");
+    }
+
+    @Test
+    void givenMatchingIndex_whenVerifyIndexes_thenReportNothing() {
+        IndexInfo usernameIndex = new IndexInfo(List.of(IndexField.create("username", Sort.Direction.ASC)), "username", true, false, null);
+        doReturn(List.of(usernameIndex, usernameIdIndex)).when(indexOperations).getIndexInfo();
+
+        List<String> problems = mongoIndexInitializer.verifyIndexes(userEntity);
+
+        assertThat(problems).isEmpty();
+        verify(indexOperations, times(0)).ensureIndex(any());
+    }
+
+    @Test
+    void givenNonUniqueIndex_whenVerifyIndexes_thenReportDifference() {
+        IndexInfo usernameIndex = new IndexInfo(List.of(IndexField.create("username", Sort.Direction.ASC)), "username", false, false, null);
+        doReturn(List.of(usernameIndex, usernameIdIndex)).when(indexOperations).getIndexInfo();
+
+        List<String> problems = mongoIndexInitializer.verifyIndexes(userEntity);
+
+        assertThat(problems).hasSize(1);
+        assertThat(problems.get(0)).contains("username");
+    }
+
+    @Test
+    void givenMissingIndex_andCreateMissingDisabled_whenVerifyIndexes_thenReportMissing() {
+        doReturn(List.of()).when(indexOperations).getIndexInfo();
+
+        List<String> problems = mongoIndexInitializer.verifyIndexes(userEntity);
+
+        assertThat(problems).hasSize(2);
+        assertThat(problems).allSatisfy(problem -> assertThat(problem).contains("missing"));
+        verify(indexOperations, times(0)).ensureIndex(any());
+    }
+
+    @Test
+    void givenMissingIndex_andCreateMissingEnabled_whenVerifyIndexes_thenCreateIndex() {
+        ReflectionTestUtils.setField(mongoIndexInitializer, "createMissing", true);
+        doReturn(List.of()).when(indexOperations).getIndexInfo();
+
+        List<String> problems = mongoIndexInitializer.verifyIndexes(userEntity);
+
+        assertThat(problems).isEmpty();
+        verify(indexOperations, times(2)).ensureIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    void givenMissingUniqueIndex_whenVerifyAllIndexes_thenFailStartup() {
+        givenRoleIndexesPresent();
+        doReturn(List.of(usernameIdIndex)).when(indexOperations).getIndexInfo();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            mongoIndexInitializer.verifyIndexes();
+        });
+
+        assertThat(exception.getMessage()).contains("username").doesNotContain("username_id");
+    }
+
+    @Test
+    void givenMissingNonUniqueIndex_whenVerifyAllIndexes_thenOnlyReport() {
+        IndexInfo usernameIndex = new IndexInfo(List.of(IndexField.create("username", Sort.Direction.ASC)), "username", true, false, null);
+        givenRoleIndexesPresent();
+        doReturn(List.of(usernameIndex)).when(indexOperations).getIndexInfo();
+
+        assertDoesNotThrow(() -> mongoIndexInitializer.verifyIndexes());
+    }
+
+    /**
+     * {@code Role} is embedded in {@code User}, so the mapping context knows it as well.
+     */
+    private void givenRoleIndexesPresent() {
+        doReturn(roleIndexOperations).when(mongoTemplate).indexOps("Role");
+        doReturn(List.of(new IndexInfo(List.of(IndexField.create("name", Sort.Direction.ASC)), "name", true, false, null)))
+                .when(roleIndexOperations).getIndexInfo();
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.unit.config;
+
+import org.example.config.mongo.ReactiveMongoAutoConfigurationFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveMongoAutoConfigurationFilterUnitTest {
+
+    static final String[] AUTO_CONFIGURATIONS = {
+            MongoAutoConfiguration.class.getName(),
+            MongoDataAutoConfiguration.class.getName(),
+            MongoReactiveAutoConfiguration.class.getName(),
+            MongoReactiveDataAutoConfiguration.class.getName(),
+            MongoReactiveRepositoriesAutoConfiguration.class.getName(),
+            null
+    };
+
+    @Test
+    void givenReactiveDisabled_whenMatch_thenLeaveOutReactiveAutoConfigurations() {
+        ReactiveMongoAutoConfigurationFilter filter = filter(new MockEnvironment());
+
+        assertThat(filter.match(AUTO_CONFIGURATIONS, null)).containsExactly(true, true, false, false, false, true);
+    }
+
+    @Test
+    void givenReactiveEnabled_whenMatch_thenKeepReactiveAutoConfigurations() {
+        ReactiveMongoAutoConfigurationFilter filter = filter(new MockEnvironment().withProperty("app.mongo.reactive.enabled", "true"));
+
+        assertThat(filter.match(AUTO_CONFIGURATIONS, null)).containsOnly(true);
+    }
+
+    private static ReactiveMongoAutoConfigurationFilter filter(MockEnvironment environment) {
+        ReactiveMongoAutoConfigurationFilter filter = new ReactiveMongoAutoConfigurationFilter();
+        filter.setEnvironment(environment);
+        return filter;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.unit.controller;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import org.example.controller.GraphQlStreamController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.execution.SubscriptionPublisherException;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class GraphQlStreamControllerUnitTest {
+
+    WebGraphQlHandler webGraphQlHandler = mock(WebGraphQlHandler.class);
+
+    GraphQlStreamController graphQlStreamController = new GraphQlStreamController(webGraphQlHandler);
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/graphql/stream")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void givenSubscription_whenStream_thenWriteOneLinePerEvent() {
+        Flux<Object> events = Flux.just(
+                ExecutionResultImpl.newExecutionResult().data(Map.of("streamUsers", List.of(Map.of("id", "1")))).build(),
+                ExecutionResultImpl.newExecutionResult().data(Map.of("streamUsers", List.of(Map.of("id", "2")))).build());
+        respondWith(events);
+
+        StepVerifier.create(graphQlStreamController.stream(Map.of("query", "subscription { streamUsers { id } }"), new HttpHeaders()))
+                .expectNext(Map.of("data", Map.of("streamUsers", List.of(Map.of("id", "1")))))
+                .expectNext(Map.of("data", Map.of("streamUsers", List.of(Map.of("id", "2")))))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenFailingSubscription_whenStream_thenWriteErrorsAsLastLine() {
+        SubscriptionPublisherException failure = new SubscriptionPublisherException(
+                List.of(GraphqlErrorBuilder.newError().message("cursor lost").build()), new IllegalStateException());
+        respondWith(Flux.concat(Flux.just(ExecutionResultImpl.newExecutionResult().data(Map.of("streamUsers", List.of())).build()),
+                Flux.error(failure)));
+
+        StepVerifier.create(graphQlStreamController.stream(Map.of("query", "subscription { streamUsers { id } }"), new HttpHeaders()))
+                .expectNext(Map.of("data", Map.of("streamUsers", List.of())))
+                .assertNext(line -> assertThat(line.get("errors").toString()).contains("cursor lost"))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenQuery_whenStream_thenWriteSingleLine() {
+        respondWith(Map.of("hello", "Hello"));
+
+        StepVerifier.create(graphQlStreamController.stream(Map.of("query", "{ hello }"), new HttpHeaders()))
+                .expectNext(Map.of("data", Map.of("hello", "Hello")))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenNoQuery_whenStream_thenRejectRequest() {
+        assertThrows(ResponseStatusException.class, () -> graphQlStreamController.stream(Map.of(), new HttpHeaders()));
+    }
+
+    private void respondWith(Object data) {
+        WebGraphQlResponse response = new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(
+                ExecutionInput.newExecutionInput("{}").build(), ExecutionResultImpl.newExecutionResult().data(data).build()));
+        doReturn(Mono.just(response)).when(webGraphQlHandler).handleRequest(any());
+    }
+}
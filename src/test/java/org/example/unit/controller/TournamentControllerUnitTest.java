@@ -1,34 +1,64 @@
 package org.example.unit.controller;
 
+import org.bson.types.ObjectId;
+import org.example.config.security.AuthenticatedUser;
 import org.example.config.security.RsaKeyProperties;
 import org.example.controller.TournamentController;
+import org.example.model.Connection;
+import org.example.model.Edge;
+import org.example.model.JoinStatus;
+import org.example.model.MembershipStatus;
+import org.example.model.PageInfo;
+import org.example.model.TournamentRosterChange;
+import org.example.model.TeamMemberJoinResult;
 import org.example.model.entity.Tournament;
+import org.example.model.entity.TournamentMembership;
 import org.example.model.entity.User;
+import org.example.repository.PendingMembershipChangeRepository;
+import org.example.service.BlockingTournamentQueryService;
+import org.example.service.BlockingUserQueryService;
+import org.example.service.TournamentEventPublisher;
+import org.example.service.TournamentMembershipService;
 import org.example.service.TournamentService;
 import org.example.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @GraphQlTest(controllers = TournamentController.class)
+@Import({BlockingTournamentQueryService.class, BlockingUserQueryService.class, TournamentEventPublisher.class, TournamentMembershipService.class})
 public class TournamentControllerUnitTest {
 
     @Autowired
     GraphQlTester graphQlTester;
 
+    @Autowired
+    TournamentEventPublisher tournamentEventPublisher;
+
     @MockBean
     TournamentService tournamentService;
 
@@ -38,8 +68,13 @@ public class TournamentControllerUnitTest {
     @MockBean
     RsaKeyProperties rsaKeyProperties;
 
+    @MockBean
+    PendingMembershipChangeRepository pendingMembershipChangeRepository;
+
     public static final String DATE_FORMAT = "dd-MM-yyyy HH:mm:ss";
 
+    private static final Instant JOINED_AT = Instant.parse("2030-01-01T12:00:00Z");
+
     @Test
     void testTournaments(){
         Tournament tournament1 = new Tournament();
@@ -51,26 +86,193 @@ public class TournamentControllerUnitTest {
         tournament2.setName("tournament2");
         tournament2.setGame("game2");
 
-        doReturn(List.of(tournament1,tournament2)).when(tournamentService).getTournaments();
+        Connection<Tournament> connection = new Connection<>(
+                List.of(new Edge<>("cursor1", tournament1), new Edge<>("cursor2", tournament2)),
+                new PageInfo(false, "cursor2"));
+
+        doReturn(connection).when(tournamentService).getTournaments(2, null, null, Set.of("id", "name", "game", "ownerId"));
 
         //language=GraphQL
         String document = """
         query {
-        tournaments {
-                id
-                name
-                game
-                ownerId
-                userList
+        tournaments(first: 2) {
+                edges {
+                    cursor
+                    node {
+                        id
+                        name
+                        game
+                        ownerId
+                    }
+                }
+                pageInfo {
+                    hasNextPage
+                    endCursor
                 }
+            }
         }
         """;
 
-        graphQlTester.document(document)
-                .execute()
-                .path("tournaments")
+        GraphQlTester.Response response = graphQlTester.document(document).execute();
+        response.path("tournaments.edges[*].node")
                 .entityList(Tournament.class)
                 .satisfies(tournaments -> assertThat(tournaments.size()).isEqualTo(2));
+        response.path("tournaments.pageInfo.endCursor")
+                .entity(String.class)
+                .isEqualTo("cursor2");
+    }
+
+    @Test
+    void testTournaments_withOwnerAndParticipants_batchesUserLookups(){
+        Tournament tournament1 = new Tournament();
+        tournament1.setId("1");
+        tournament1.setName("tournament1");
+        tournament1.setOwnerId("1");
+        Tournament tournament2 = new Tournament();
+        tournament2.setId("2");
+        tournament2.setName("tournament2");
+        tournament2.setOwnerId("2");
+
+        User user1 = new User();
+        user1.setId("1");
+        user1.setUsername("user1");
+        User user2 = new User();
+        user2.setId("2");
+        user2.setUsername("user2");
+        User user3 = new User();
+        user3.setId("3");
+        user3.setUsername("user3");
+
+        Connection<Tournament> connection = new Connection<>(
+                List.of(new Edge<>("cursor1", tournament1), new Edge<>("cursor2", tournament2)),
+                new PageInfo(false, "cursor2"));
+
+        doReturn(connection).when(tournamentService).getTournaments(null, null, null, Set.of("id", "ownerId"));
+        doReturn(Map.of("1", List.of(membership("1", "2"), membership("1", "3")), "2", List.of(membership("2", "3"))))
+                .when(tournamentService).getRosters(Set.of("1", "2"), 6);
+        doReturn(List.of(user1, user2, user3)).when(userService).getUsersByIds(any());
+
+        //language=GraphQL
+        String document = """
+        query {
+        tournaments {
+                edges {
+                    node {
+                        id
+                        owner {
+                            username
+                        }
+                        participants(first: 5) {
+                            edges {
+                                joinedAt
+                                node {
+                                    username
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        """;
+
+        GraphQlTester.Response response = graphQlTester.document(document).execute();
+        response.path("tournaments.edges[0].node.owner.username")
+                .entity(String.class)
+                .isEqualTo("user1");
+        response.path("tournaments.edges[0].node.participants.edges[*].node.username")
+                .entityList(String.class)
+                .containsExactly("user2", "user3");
+        response.path("tournaments.edges[0].node.participants.edges[0].joinedAt")
+                .entity(String.class)
+                .isEqualTo(JOINED_AT.toString());
+        response.path("tournaments.edges[1].node.participants.edges[*].node.username")
+                .entityList(String.class)
+                .containsExactly("user3");
+
+        verify(userService, times(1)).getUsersByIds(argThat(ids -> ids.size() == 3));
+        verify(tournamentService, times(1)).getRosters(any(), anyInt());
+        verify(tournamentService, never()).getParticipants(any(), any(), any());
+    }
+
+    @Test
+    void testTournaments_withParticipantsPageSizes_sliceEachRoster(){
+        Tournament tournament1 = new Tournament();
+        tournament1.setId("1");
+        Tournament tournament2 = new Tournament();
+        tournament2.setId("2");
+        Connection<Tournament> connection = new Connection<>(
+                List.of(new Edge<>("cursor1", tournament1), new Edge<>("cursor2", tournament2)),
+                new PageInfo(false, "cursor2"));
+
+        doReturn(connection).when(tournamentService).getTournaments(null, null, null, Set.of("id"));
+        doReturn(Map.of("1", List.of(membership("1", "2"), membership("1", "3"), membership("1", "4"))))
+                .when(tournamentService).getRosters(Set.of("1", "2"), 3);
+
+        //language=GraphQL
+        String document = """
+        query {
+            tournaments {
+                edges {
+                    node {
+                        id
+                        first: participants(first: 1) {
+                            edges { cursor }
+                            pageInfo { hasNextPage }
+                        }
+                        more: participants(first: 2) {
+                            edges { cursor }
+                            pageInfo { hasNextPage }
+                        }
+                    }
+                }
+            }
+        }
+        """;
+
+        GraphQlTester.Response response = graphQlTester.document(document).execute();
+        response.path("tournaments.edges[0].node.first.edges").entityList(Object.class).hasSize(1);
+        response.path("tournaments.edges[0].node.first.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true);
+        response.path("tournaments.edges[0].node.more.edges").entityList(Object.class).hasSize(2);
+        response.path("tournaments.edges[0].node.more.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true);
+        response.path("tournaments.edges[1].node.first.edges").entityList(Object.class).hasSize(0);
+        response.path("tournaments.edges[1].node.more.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(false);
+
+        verify(tournamentService, times(1)).getRosters(any(), anyInt());
+    }
+
+    @Test
+    void testTournaments_withParticipantsAfterCursor_readRosterPage(){
+        Tournament tournament = new Tournament();
+        tournament.setId("1");
+        Connection<Tournament> connection = new Connection<>(List.of(new Edge<>("cursor1", tournament)), new PageInfo(false, "cursor1"));
+        TournamentMembership membership = membership("1", "2");
+
+        doReturn(connection).when(tournamentService).getTournaments(null, null, null, Set.of("id"));
+        doReturn(roster(membership)).when(tournamentService).getParticipants("1", 5, "cursor0");
+
+        //language=GraphQL
+        String document = """
+        query {
+            tournaments {
+                edges {
+                    node {
+                        id
+                        participants(first: 5, after: "cursor0") {
+                            edges { cursor }
+                        }
+                    }
+                }
+            }
+        }
+        """;
+
+        graphQlTester.document(document).execute()
+                .path("tournaments.edges[0].node.participants.edges[*].cursor")
+                .entityList(String.class)
+                .containsExactly(membership.getId());
+
+        verify(tournamentService, never()).getRosters(any(), anyInt());
     }
 
     @Test
@@ -89,25 +291,37 @@ public class TournamentControllerUnitTest {
         tournament2.setName("tournament2");
         tournament2.setGame("game2");
 
-        doReturn(user).when(userService).getUser("user3");
-        doReturn(List.of(tournament1, tournament2)).when(tournamentService).joinedTournaments(user.getId());
+        Connection<Tournament> connection = new Connection<>(
+                List.of(new Edge<>("cursor1", tournament1), new Edge<>("cursor2", tournament2)),
+                new PageInfo(true, "cursor2"));
 
+        doReturn(user.getId()).when(userService).getUserId("user3");
+        doReturn(connection).when(tournamentService).joinedTournaments(user.getId(), 2, null, Set.of("id", "game"));
 
         //language=GraphQL
         String document = """
         query {
-                 joinedTournaments {
-                     id
-                     game
+                 joinedTournaments(first: 2) {
+                     edges {
+                         node {
+                             id
+                             game
+                         }
+                     }
+                     pageInfo {
+                         hasNextPage
+                     }
                  }
              }
         """;
 
-        graphQlTester.document(document)
-                .execute()
-                .path("joinedTournaments")
+        GraphQlTester.Response response = graphQlTester.document(document).execute();
+        response.path("joinedTournaments.edges[*].node")
                 .entityList(Tournament.class)
                 .satisfies(tournaments -> assertThat(tournaments.size()).isEqualTo(2));
+        response.path("joinedTournaments.pageInfo.hasNextPage")
+                .entity(Boolean.class)
+                .isEqualTo(true);
     }
 
     @Test
@@ -122,9 +336,11 @@ public class TournamentControllerUnitTest {
         tournament1.setName("tournament1");
         tournament1.setGame("game1");
         tournament1.setOwnerId(user.getId());
+        tournament1.setParticipantCount(3);
+        tournament1.setMaxParticipants(8);
 
-        doReturn(user).when(userService).getUser("user1");
-        doReturn(List.of(tournament1)).when(tournamentService).createdTournaments(user.getId());
+        doReturn(user.getId()).when(userService).getUserId("user1");
+        doReturn(List.of(tournament1)).when(tournamentService).createdTournaments(eq(user.getId()), any());
 
         //language=GraphQL
         String document = """
@@ -140,16 +356,109 @@ public class TournamentControllerUnitTest {
                   dateTime
                   region
                   ownerId
-                  userList
+                  participantCount
+                  maxParticipants
                 }
               }
         """;
 
-        graphQlTester.document(document)
-                .execute()
-                .path("createdTournaments")
+        GraphQlTester.Response response = graphQlTester.document(document).execute();
+        response.path("createdTournaments")
                 .entityList(Tournament.class)
                 .satisfies(tournaments -> assertThat(tournaments.size()).isEqualTo(1));
+        response.path("createdTournaments[0].participantCount")
+                .entity(Integer.class)
+                .isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser( username = "user1")
+    void testTournamentRosterChanged(){
+        Tournament joined = new Tournament();
+        joined.setId("1");
+        joined.setParticipantCount(1);
+        Tournament renamed = new Tournament();
+        renamed.setId("1");
+        renamed.setName("renamed");
+        renamed.setParticipantCount(1);
+        Tournament other = new Tournament();
+        other.setId("2");
+        Tournament left = new Tournament();
+        left.setId("1");
+
+        //language=GraphQL
+        String document = """
+        subscription {
+                  tournamentRosterChanged(id: "1") {
+                    tournamentId
+                    participantCount
+                  }
+                }
+        """;
+
+        StepVerifier.create(graphQlTester.document(document)
+                        .executeSubscription()
+                        .toFlux("tournamentRosterChanged", TournamentRosterChange.class))
+                .then(() -> List.of(joined, renamed, other, left).forEach(tournamentEventPublisher::tournamentChanged))
+                .expectNext(new TournamentRosterChange("1", 1, null))
+                .expectNext(new TournamentRosterChange("1", 0, null))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @WithMockUser( username = "user1")
+    void testJoinTournamentAsTeam(){
+        User user1 = new User();
+        user1.setId("1");
+        user1.setUsername("user1");
+        User user2 = new User();
+        user2.setId("2");
+        user2.setUsername("user2");
+
+        doReturn(List.of(user1, user2)).when(userService).getUsersByUsernames(List.of("user1", "user2", "ghost"));
+        doReturn(Map.of("1", JoinStatus.JOINED, "2", JoinStatus.ALREADY_JOINED)).when(tournamentService).joinTournamentAsTeam(eq("10"), any());
+
+        //language=GraphQL
+        String document = """
+        mutation {
+                  joinTournamentAsTeam(tournamentId: "10", usernames: ["user1", "user2", "ghost"]) {
+                    username
+                    status
+                  }
+                }
+        """;
+
+        graphQlTester.document(document)
+                .execute()
+                .path("joinTournamentAsTeam")
+                .entityList(TeamMemberJoinResult.class)
+                .containsExactly(
+                        new TeamMemberJoinResult("user1", JoinStatus.JOINED),
+                        new TeamMemberJoinResult("user2", JoinStatus.ALREADY_JOINED),
+                        new TeamMemberJoinResult("ghost", JoinStatus.USER_NOT_FOUND));
+        verify(tournamentService, times(1)).joinTournamentAsTeam(eq("10"), argThat(userIds -> userIds.size() == 2));
+        verify(userService, times(0)).getUserId(any());
+    }
+
+    @Test
+    @WithMockUser( username = "user1")
+    void testJoinTournamentAsTeam_withoutCaller_returnsError(){
+        //language=GraphQL
+        String document = """
+        mutation {
+                  joinTournamentAsTeam(tournamentId: "10", usernames: ["user2", "user3"]) {
+                    username
+                    status
+                  }
+                }
+        """;
+
+        graphQlTester.document(document)
+                .execute()
+                .errors()
+                .expect(error -> error.getMessage().equals("You can only register a team you are part of!"));
+        verify(tournamentService, times(0)).joinTournamentAsTeam(any(), any());
     }
 
     @Test
@@ -175,7 +484,7 @@ public class TournamentControllerUnitTest {
         tournament1.setOwnerId(user.getId());
         tournament1.setDateTime(localDateTime);
 
-        doReturn(user).when(userService).getUser("user1");
+        doReturn(user.getId()).when(userService).getUserId("user1");
         doReturn(tournament1).when(tournamentService).createTournament(any(), any());
 
         //language=GraphQL
@@ -230,12 +539,11 @@ public class TournamentControllerUnitTest {
         tournament1.setBracketType("Battle Royal");
         tournament1.setTeamSize(5);
         tournament1.setOwnerId("2");
-        tournament1.setUserList(List.of("1"));
+        tournament1.setParticipantCount(1);
 
 
-        doReturn(willJoinUser).when(userService).getUser("user1");
-        doReturn(tournament1).when(tournamentService).getTournament("1");
-        doReturn(tournament1).when(tournamentService).joinTournament(any(), any());
+        doReturn(willJoinUser.getId()).when(userService).getUserId("user1");
+        doReturn(tournament1).when(tournamentService).joinTournament("1", "1");
 
         //language=GraphQL
         String document = """
@@ -244,7 +552,7 @@ public class TournamentControllerUnitTest {
             id
             name
             game
-            userList
+            participantCount
           }
         }
         """;
@@ -254,11 +562,44 @@ public class TournamentControllerUnitTest {
                 .execute()
                 .path("joinTournament")
                 .entity(Tournament.class)
-                .satisfies(tournament -> assertThat(tournament.getUserList()).contains(willJoinUser.getId()));
+                .satisfies(tournament -> assertThat(tournament.getParticipantCount()).isEqualTo(1));
 
-        verify(userService, times(1)).getUser("user1");
-        verify(tournamentService, times(1)).getTournament("1");
-        verify(tournamentService, times(1)).joinTournament(any(), any());
+        verify(userService, times(1)).getUserId("user1");
+        verify(tournamentService, times(0)).getTournament(any());
+        verify(tournamentService, times(1)).joinTournament("1", "1");
+    }
+
+    @Test
+    void testJoinTournament_withUserIdClaim_skipsUserLookup(){
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        TestSecurityContextHolder.setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser("1", "user1", null, authorities), null, authorities));
+
+        Tournament tournament1 = new Tournament();
+        tournament1.setId("1");
+        tournament1.setParticipantCount(1);
+
+        doReturn(tournament1).when(tournamentService).joinTournament("1", "1");
+
+        //language=GraphQL
+        String document = """
+        mutation ($tournamentId : String){
+          joinTournament(tournamentId: $tournamentId) {
+            id
+            participantCount
+          }
+        }
+        """;
+
+        graphQlTester.document(document)
+                .variable("tournamentId", tournament1.getId())
+                .execute()
+                .path("joinTournament.participantCount")
+                .entity(Integer.class)
+                .isEqualTo(1);
+
+        verify(userService, times(0)).getUserId(any());
+        verify(tournamentService, times(1)).joinTournament("1", "1");
     }
 
     @Test
@@ -278,12 +619,10 @@ public class TournamentControllerUnitTest {
         tournament1.setBracketType("Battle Royal");
         tournament1.setTeamSize(5);
         tournament1.setOwnerId("2");
-        tournament1.setUserList(List.of("3"));
 
 
-        doReturn(willUnjoinUser).when(userService).getUser("user1");
-        doReturn(tournament1).when(tournamentService).getTournament("1");
-        doReturn(tournament1).when(tournamentService).unjoinTournament(any(), any());
+        doReturn(willUnjoinUser.getId()).when(userService).getUserId("user1");
+        doReturn(tournament1).when(tournamentService).unjoinTournament("1", "1");
 
         //language=GraphQL
         String document = """
@@ -292,7 +631,7 @@ public class TournamentControllerUnitTest {
             id
             name
             game
-            userList
+            participantCount
           }
         }
         """;
@@ -302,11 +641,11 @@ public class TournamentControllerUnitTest {
                 .execute()
                 .path("unjoinTournament")
                 .entity(Tournament.class)
-                .satisfies(tournament -> assertThat(tournament.getUserList()).doesNotContain(willUnjoinUser.getId()));
+                .satisfies(tournament -> assertThat(tournament.getParticipantCount()).isZero());
 
-        verify(userService, times(1)).getUser("user1");
-        verify(tournamentService, times(1)).getTournament("1");
-        verify(tournamentService, times(1)).unjoinTournament(any(), any());
+        verify(userService, times(1)).getUserId("user1");
+        verify(tournamentService, times(0)).getTournament(any());
+        verify(tournamentService, times(1)).unjoinTournament("1", "1");
     }
 
     @Test
@@ -326,11 +665,9 @@ public class TournamentControllerUnitTest {
         tournament1.setBracketType("Battle Royal");
         tournament1.setTeamSize(5);
         tournament1.setOwnerId("2");
-        tournament1.setUserList(List.of("3"));
 
 
-        doReturn(owner).when(userService).getUser("user1");
-        doReturn(tournament1).when(tournamentService).getTournament("1");
+        doReturn(owner.getId()).when(userService).getUserId("user1");
         doReturn(tournament1).when(tournamentService).editTournament(any(), any());
 
         //language=GraphQL
@@ -353,4 +690,13 @@ public class TournamentControllerUnitTest {
                 .entity(Tournament.class)
                 .satisfies(tournament -> assertThat(tournament.getName()).isEqualTo("Test Updated Tournament Name"));
     }
+
+    private static TournamentMembership membership(String tournamentId, String userId) {
+        return new TournamentMembership(new ObjectId().toHexString(), tournamentId, userId, JOINED_AT, MembershipStatus.JOINED);
+    }
+
+    private static Connection<TournamentMembership> roster(TournamentMembership... memberships) {
+        return new Connection<>(Arrays.stream(memberships).map(membership -> new Edge<>(membership.getId(), membership)).collect(Collectors.toList()),
+                new PageInfo(false, null));
+    }
 }
@@ -1,24 +1,38 @@
 package org.example.unit.controller;
 
 import org.example.config.security.RsaKeyProperties;
+import org.example.error.PasswordHashingBusyException;
 import org.example.controller.UserController;
+import org.example.model.entity.Tournament;
 import org.example.model.entity.User;
+import org.example.service.BlockingTournamentQueryService;
+import org.example.service.BlockingUserQueryService;
 import org.example.service.RoleService;
+import org.example.service.TournamentService;
 import org.example.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.graphql.test.tester.GraphQlTester;
 import org.springframework.security.test.context.support.WithMockUser;
+import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @GraphQlTest(controllers = UserController.class)
+@Import({BlockingTournamentQueryService.class, BlockingUserQueryService.class})
 public class UserControllerUnitTest {
 
     @Autowired
@@ -33,6 +47,9 @@ public class UserControllerUnitTest {
     @MockBean
     UserService userService;
 
+    @MockBean
+    TournamentService tournamentService;
+
     @Test
     void testGetUsers() {
         User user1 = new User();
@@ -72,6 +89,90 @@ public class UserControllerUnitTest {
                 });
     }
 
+    @Test
+    void testGetUsers_withTournaments_batchesTournamentLookups() {
+        User user1 = new User();
+        user1.setId("1");
+        user1.setUsername("user1");
+
+        User user2 = new User();
+        user2.setId("2");
+        user2.setUsername("user2");
+
+        Tournament tournament1 = new Tournament();
+        tournament1.setId("1");
+        tournament1.setName("tournament1");
+        Tournament tournament2 = new Tournament();
+        tournament2.setId("2");
+        tournament2.setName("tournament2");
+
+        doReturn(List.of(user1, user2)).when(userService).getUsers();
+        doReturn(Map.of("1", List.of(tournament1, tournament2), "2", List.of(tournament2))).when(tournamentService).getTournamentsByUserIds(any());
+
+        //language=GraphQL
+        String document = """
+                query{
+                   getUsers{
+                     id
+                     tournamentId
+                     tournaments{
+                       id
+                       name
+                     }
+                   }
+                 }
+                """;
+
+        GraphQlTester.Response response = graphQlTester.document(document).execute();
+        response.path("getUsers[0].tournaments[*].name")
+                .entityList(String.class)
+                .containsExactly("tournament1", "tournament2");
+        response.path("getUsers[1].tournaments[*].name")
+                .entityList(String.class)
+                .containsExactly("tournament2");
+        response.path("getUsers[0].tournamentId")
+                .entityList(String.class)
+                .containsExactly("1", "2");
+
+        verify(tournamentService, times(1)).getTournamentsByUserIds(argThat(ids -> ids.size() == 2));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testStreamUsers_emitsBatchesAndLoadsTournamentsOncePerBatch() {
+        List<User> users = List.of("1", "2", "3").stream().map(id -> {
+            User user = new User();
+            user.setId(id);
+            user.setUsername("user" + id);
+            return user;
+        }).collect(Collectors.toList());
+
+        doReturn(users.stream()).when(userService).streamUsers();
+        doReturn(Map.of()).when(tournamentService).getTournamentsByUserIds(any());
+
+        //language=GraphQL
+        String document = """
+                subscription{
+                   streamUsers(batchSize: 2){
+                     username
+                     tournaments{
+                       id
+                     }
+                   }
+                 }
+                """;
+
+        StepVerifier.create(graphQlTester.document(document)
+                        .executeSubscription()
+                        .toFlux()
+                        .map(response -> response.path("streamUsers[*].username").entityList(String.class).get()))
+                .expectNext(List.of("user1", "user2"))
+                .expectNext(List.of("user3"))
+                .verifyComplete();
+
+        verify(tournamentService, times(2)).getTournamentsByUserIds(any());
+    }
+
     @Test
     @WithMockUser(username = "user1")
     void testEditUser() {
@@ -80,7 +181,7 @@ public class UserControllerUnitTest {
         user1.setUsername("user1");
         user1.setName("Edited Name");
 
-        doReturn(user1).when(userService).editUser(any(), any());
+        doReturn(CompletableFuture.completedFuture(user1)).when(userService).editUser(any(), any());
 
         //language=GraphQL
         String document = """
@@ -116,7 +217,7 @@ public class UserControllerUnitTest {
         registeredUser.setSurname("surname");
         registeredUser.setPassword("Encrypted Password");
 
-        doReturn(registeredUser).when(userService).createUser(any());
+        doReturn(CompletableFuture.completedFuture(registeredUser)).when(userService).createUserAsync(any());
 
         //language=GraphQL
         String document = """
@@ -150,4 +251,36 @@ public class UserControllerUnitTest {
                 });
     }
 
+    @Test
+    void testRegisterUser_whenHashingPoolSaturated_thenReturnRetryableError() {
+        CompletableFuture<User> rejected = CompletableFuture.<User>failedFuture(
+                new PasswordHashingBusyException("The server is busy, please try again shortly", 1)).thenApply(user -> user);
+        doReturn(rejected).when(userService).createUserAsync(any());
+
+        //language=GraphQL
+        String document = """
+                mutation{
+                        registerUser(
+                          registerUserInput : {
+                            name: "name"
+                            surname: "surname"
+                            password: "password"
+                            username: "user1"
+                          })
+                        {
+                          id
+                        }
+                      }
+                """;
+
+        graphQlTester.document(document)
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertThat(errors).hasSize(1);
+                    assertThat(errors.get(0).getMessage()).isEqualTo("The server is busy, please try again shortly");
+                    assertThat(errors.get(0).getExtensions()).containsEntry("retryable", true);
+                });
+    }
+
 }
@@ -0,0 +1,100 @@
+package org.example.unit.graphql;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.example.graphql.CachingPreparsedDocumentProvider;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingPreparsedDocumentProviderUnitTest {
+
+    static final String QUERY = "{ hello }";
+
+    CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, 10);
+
+    GraphQL graphQL = graphQL();
+
+    @Test
+    void givenSameQueryTwice_whenExecute_thenParseOnce() {
+        graphQL.execute(QUERY);
+        graphQL.execute(QUERY);
+        graphQL.execute("{ hello __typename }");
+
+        assertThat(provider.size()).isEqualTo(2);
+    }
+
+    @Test
+    void givenUnknownHash_whenExecuteWithoutQuery_thenReturnPersistedQueryNotFound() {
+        ExecutionResult result = graphQL.execute(persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, sha256(QUERY)));
+
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+    }
+
+    @Test
+    void givenRegisteredHash_whenExecuteWithoutQuery_thenExecuteCachedDocument() {
+        ExecutionResult registration = graphQL.execute(persisted(QUERY, sha256(QUERY)));
+        ExecutionResult result = graphQL.execute(persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, sha256(QUERY)));
+
+        assertThat(registration.getErrors()).isEmpty();
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.<Map<String, Object>>getData()).containsEntry("hello", "Hello");
+    }
+
+    @Test
+    void givenHashNotMatchingQuery_whenExecute_thenReturnPersistedQueryIdInvalid() {
+        ExecutionResult result = graphQL.execute(persisted(QUERY, sha256("{ other }")));
+
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryIdInvalid");
+    }
+
+    @Test
+    void givenCachedQueryWithForeignHash_whenExecute_thenRejectAndKeepHashUnregistered() {
+        String otherQuery = "{ hello __typename }";
+        graphQL.execute(QUERY);
+
+        ExecutionResult poisoning = graphQL.execute(persisted(QUERY, sha256(otherQuery)));
+        ExecutionResult result = graphQL.execute(persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, sha256(otherQuery)));
+
+        assertThat(poisoning.getErrors()).hasSize(1);
+        assertThat(poisoning.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryIdInvalid");
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+    }
+
+    private ExecutionInput persisted(String query, String hash) {
+        return ExecutionInput.newExecutionInput(query)
+                .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)))
+                .build();
+    }
+
+    private GraphQL graphQL() {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("hello", environment -> "Hello"))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse("type Query { hello: String }"), wiring);
+        return GraphQL.newGraphQL(schema).preparsedDocumentProvider(provider).build();
+    }
+
+    private static String sha256(String query) {
+        try {
+            return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
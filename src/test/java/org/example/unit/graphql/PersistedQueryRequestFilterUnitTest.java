@@ -0,0 +1,48 @@
+package org.example.unit.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.example.graphql.PersistedQueryRequestFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistedQueryRequestFilterUnitTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    PersistedQueryRequestFilter filter = new PersistedQueryRequestFilter(objectMapper);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenHashOnlyRequest_whenFilter_thenAddPersistedQueryMarker() throws Exception {
+        Map<String, Object> forwarded = filter("{\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"abc\"}}}");
+
+        assertThat(forwarded).containsEntry("query", PersistedQuerySupport.PERSISTED_QUERY_MARKER);
+        assertThat((Map<String, Object>) forwarded.get("extensions")).containsKey("persistedQuery");
+    }
+
+    @Test
+    void givenRequestWithQuery_whenFilter_thenForwardUnchanged() throws Exception {
+        Map<String, Object> forwarded = filter("{\"query\":\"{ hello }\",\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"abc\"}}}");
+
+        assertThat(forwarded).containsEntry("query", "{ hello }");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> filter(String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.setServletPath("/graphql");
+        request.setContent(body.getBytes());
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        return objectMapper.readValue(chain.getRequest().getInputStream(), Map.class);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.unit.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.example.graphql.QueryLimitsInstrumentation;
+import org.example.graphql.QueryLimitsProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryLimitsInstrumentationUnitTest {
+
+    //language=GraphQL
+    static final String SCHEMA = """
+            type Query { users(first: Int): [User] }
+            type User { name: String friends: [User] }
+            """;
+
+    GraphQL graphQL = graphQL();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenAnonymousCaller_whenQueryTooDeep_thenAbort() {
+        ExecutionResult result = graphQL.execute("{ users { friends { friends { name } } } }");
+
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getMessage()).contains("maximum query depth exceeded");
+    }
+
+    @Test
+    void givenAdminCaller_whenQueryTooDeepForDefaults_thenExecute() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        ExecutionResult result = graphQL.execute("{ users { friends { friends { name } } } }");
+
+        assertThat(result.getErrors()).isEmpty();
+    }
+
+    @Test
+    void givenWeightedListField_whenComplexityExceeded_thenAbort() {
+        // users weighs 10 per element: 1 + (1 + (1 + 1) * 10) * 10 = 211
+        ExecutionResult result = graphQL.execute("{ users { friends { name } } }");
+
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getMessage()).contains("maximum query complexity exceeded");
+    }
+
+    @Test
+    void givenFirstArgument_whenComplexityCalculated_thenUseItInsteadOfWeight() {
+        ExecutionResult result = graphQL.execute("{ users(first: 2) { friends { name } } }");
+
+        assertThat(result.getErrors()).isEmpty();
+    }
+
+    @Test
+    void givenIntrospectionQuery_whenExecute_thenFitIntrospectionLimits() {
+        ExecutionResult result = graphQL.execute(IntrospectionQuery.INTROSPECTION_QUERY);
+
+        assertThat(result.getErrors()).isEmpty();
+    }
+
+    @Test
+    void givenNestedIntrospectionQuery_whenTooDeep_thenAbort() {
+        ExecutionResult result = graphQL.execute("{ __schema { types { fields { type { fields { type { fields { type {"
+                + " fields { type { fields { type { fields { type { fields { type { name } } } } } } } } } } } } } } } } }");
+
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getMessage()).contains("maximum query depth exceeded");
+    }
+
+    private GraphQL graphQL() {
+        QueryLimitsProperties properties = new QueryLimitsProperties();
+        properties.setDefaults(new QueryLimitsProperties.Limit(3, 100));
+        properties.setRoles(Map.of(
+                "ROLE_USER", new QueryLimitsProperties.Limit(3, 150),
+                "ROLE_ADMIN", new QueryLimitsProperties.Limit(5, 5000)));
+        properties.setFieldWeights(Map.of("Query.users", 10, "User.friends", 10));
+
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("users", environment -> List.of()))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+        return GraphQL.newGraphQL(schema).instrumentation(new QueryLimitsInstrumentation(properties)).build();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.unit.graphql;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.graphql.GraphQlInstrumentationProperties;
+import org.example.graphql.RequestMetricsInstrumentation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestMetricsInstrumentationUnitTest {
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenSampledRequest_whenExecute_thenRecordOperationAndFieldMetrics() {
+        GraphQL graphQL = graphQL(1.0);
+
+        graphQL.execute(ExecutionInput.newExecutionInput("query Names { names }").build());
+
+        assertThat(meterRegistry.get("graphql.operation").tag("operation", "Names").tag("type", "query").tag("outcome", "SUCCESS").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("graphql.field").tag("parent", "Query").tag("field", "names").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("graphql.field.result.size").tag("field", "names").summary().totalAmount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void givenUnlistedOperationName_whenExecute_thenTagOperationAsOther() {
+        GraphQL graphQL = graphQL(0.0);
+
+        graphQL.execute(ExecutionInput.newExecutionInput("query RandomName123 { names }").build());
+
+        assertThat(meterRegistry.get("graphql.operation").tag("operation", "other").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("graphql.operation").tag("operation", "RandomName123").timer()).isNull();
+    }
+
+    @Test
+    void givenUnsampledRequest_whenExecute_thenRecordOnlyOperationAndResolverMetrics() {
+        GraphQL graphQL = graphQL(0.0);
+
+        graphQL.execute(ExecutionInput.newExecutionInput("{ names }").build());
+
+        assertThat(meterRegistry.get("graphql.operation").tag("operation", "anonymous").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("graphql.resolver").tag("parent", "Query").tag("field", "names").tag("outcome", "SUCCESS").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("graphql.field").timer()).isNull();
+    }
+
+    @Test
+    void givenSensitiveVariables_whenRedact_thenHideValuesAtAnyDepth() {
+        RequestMetricsInstrumentation instrumentation = instrumentation(0.0);
+
+        Map<String, Object> redacted = instrumentation.redact(Map.of(
+                "registerUserInput", Map.of("username", "user1", "Password", "secret"),
+                "tokens", List.of(Map.of("refreshToken", "abc"))));
+
+        assertThat(redacted.get("registerUserInput")).isEqualTo(Map.of("username", "user1", "Password", "***"));
+        assertThat(redacted.get("tokens")).isEqualTo(List.of(Map.of("refreshToken", "***")));
+    }
+
+    private GraphQL graphQL(double sampleRate) {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("names", environment -> List.of("a", "b", "c")))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse("type Query { names: [String] }"), wiring);
+        return GraphQL.newGraphQL(schema).instrumentation(instrumentation(sampleRate)).build();
+    }
+
+    private RequestMetricsInstrumentation instrumentation(double sampleRate) {
+        GraphQlInstrumentationProperties properties = new GraphQlInstrumentationProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setTaggedOperations(Set.of("Names"));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        return new RequestMetricsInstrumentation(beanFactory.getBeanProvider(MeterRegistry.class), properties);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.unit.repository;
+
+import org.bson.Document;
+import org.example.model.MembershipStatus;
+import org.example.model.entity.TournamentMembership;
+import org.example.repository.TournamentMembershipRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TournamentMembershipRepositoryImplUnitTest {
+
+    MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    TournamentMembershipRepositoryImpl repository = new TournamentMembershipRepositoryImpl(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void givenTransactionAndActiveMember_whenJoin_thenReturnFalseWithoutWriting() {
+        doReturn(true).when(mongoTemplate).exists(any(Query.class), eq(TournamentMembership.class));
+
+        assertThat(repository.join("t1", "u1")).isFalse();
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(), eq(TournamentMembership.class));
+    }
+
+    @Test
+    void givenTransactionAndPartlyJoinedTeam_whenJoinAll_thenUpsertOnlyMissingMembers() {
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        doReturn(List.of(new TournamentMembership("m1", "t1", "u1", Instant.now(), MembershipStatus.JOINED)))
+                .when(mongoTemplate).find(any(Query.class), eq(TournamentMembership.class));
+        doReturn(bulkOperations).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, TournamentMembership.class);
+
+        List<String> joined = repository.joinAll("t1", List.of("u1", "u2", "u3"));
+
+        assertThat(joined).containsExactly("u2", "u3");
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void givenTournamentIds_whenFindRosters_thenSliceEachRosterInOneAggregation() {
+        MongoMappingContext mappingContext = TournamentQueriesUnitTest.mappingContext();
+        QueryMapper queryMapper = new QueryMapper(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        doReturn(new AggregationResults<>(List.of(), new Document())).when(mongoTemplate)
+                .aggregate(any(TypedAggregation.class), eq(TournamentMembership.class));
+
+        repository.findRosters(List.of("t1", "t2"), 6);
+
+        ArgumentCaptor<TypedAggregation<TournamentMembership>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(TournamentMembership.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(
+                new TypeBasedAggregationOperationContext(TournamentMembership.class, mappingContext, queryMapper));
+        assertThat(pipeline.get(0)).isEqualTo(new Document("$match", new Document("tournamentId", new Document("$in", List.of("t1", "t2")))
+                .append("status", "JOINED")));
+        assertThat(pipeline.get(1)).isEqualTo(new Document("$sort", new Document("tournamentId", 1).append("status", 1).append("_id", 1)));
+        assertThat(pipeline.get(3)).isEqualTo(new Document("$project", new Document("memberships", new Document("$slice", List.of("$memberships", 6)))));
+    }
+
+    @Test
+    void givenNoTournamentIds_whenFindRosters_thenSkipQuery() {
+        assertThat(repository.findRosters(List.of(), 6)).isEmpty();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.unit.repository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.example.error.InvalidTournamentFilterException;
+import org.example.model.TournamentFilter;
+import org.example.model.entity.Tournament;
+import org.example.repository.TournamentQueries;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TournamentQueriesUnitTest {
+
+    MongoMappingContext mappingContext = mappingContext();
+
+    QueryMapper queryMapper = new QueryMapper(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+
+    static MongoMappingContext mappingContext() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        return mappingContext;
+    }
+
+    @Test
+    void givenTournament_whenWithFreeSlots_thenRequireSlotForEveryParticipant() {
+        String tournamentId = new ObjectId().toHexString();
+
+        Document mapped = map(TournamentQueries.withFreeSlots(tournamentId, 2));
+
+        assertThat(mapped.get("_id")).isEqualTo(new ObjectId(tournamentId));
+        assertThat(mapped.getList("$or", Document.class)).containsExactly(
+                new Document("maxParticipants", null),
+                new Document("$expr", new Document("$lte",
+                        List.of(new Document("$add", List.of("$participantCount", 2)), "$maxParticipants"))));
+    }
+
+    @Test
+    void givenFields_whenProject_thenIncludeOnlyThoseFields() {
+        Query query = TournamentQueries.project(TournamentQueries.ownedBy("1"), Set.of("id", "participantCount"));
+
+        assertThat(query.getFieldsObject()).isEqualTo(new Document("id", 1).append("participantCount", 1));
+    }
+
+    @Test
+    void givenNoFields_whenProject_thenReadWholeDocument() {
+        Query query = TournamentQueries.project(TournamentQueries.ownedBy("1"), null);
+
+        assertThat(query.getFieldsObject()).isEmpty();
+    }
+
+    @Test
+    void givenMalformedDate_whenPage_thenRejectFilter() {
+        TournamentFilter filter = new TournamentFilter();
+        filter.setDateFrom("2030-01-01");
+
+        InvalidTournamentFilterException exception = assertThrows(InvalidTournamentFilterException.class, () -> {
+            TournamentQueries.page(filter, null, 20);
+        });
+
+        assertThat(exception.getExtensions()).containsEntry("invalidField", "dateFrom");
+    }
+
+    private Document map(Query query) {
+        return queryMapper.getMappedObject(query.getQueryObject(), mappingContext.getPersistentEntity(Tournament.class));
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.unit.service;
+
+import org.example.error.InvalidExportRequestException;
+import org.example.model.ExportFormat;
+import org.example.model.TournamentFilter;
+import org.example.model.UserFilter;
+import org.example.model.entity.Role;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.User;
+import org.example.repository.TournamentRepository;
+import org.example.repository.UserRepository;
+import org.example.service.ExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ExportServiceUnitTest {
+
+    UserRepository userRepository = mock(UserRepository.class);
+
+    TournamentRepository tournamentRepository = mock(TournamentRepository.class);
+
+    ExportService exportService = new ExportService(userRepository, tournamentRepository, Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void givenUsers_whenExportNdjson_thenWriteOneLinePerUserWithoutPassword() throws IOException {
+        User user = new User("1", "name", "surname", "hash", "user1", List.of(new Role("r1", "ROLE_USER"), new Role("r2", "ROLE_ADMIN")));
+        AtomicBoolean closed = new AtomicBoolean();
+        UserFilter filter = new UserFilter("ROLE_ADMIN", null);
+        doReturn(Stream.of(user, user).onClose(() -> closed.set(true))).when(userRepository).streamAll(eq(filter), any());
+
+        String export = write(exportService.exportUsers(filter, null, ExportFormat.NDJSON));
+
+        assertThat(export).isEqualTo(
+                "{\"id\":\"1\",\"name\":\"name\",\"surname\":\"surname\",\"username\":\"user1\",\"roles\":\"ROLE_USER ROLE_ADMIN\"}\n".repeat(2));
+        assertThat(closed).isTrue();
+        verify(userRepository).streamAll(filter, Set.of("id", "name", "surname", "username", "roleList.name"));
+    }
+
+    @Test
+    void givenPasswordField_whenExportUsers_thenRejectBeforeOpeningCursor() {
+        assertThrows(InvalidExportRequestException.class,
+                () -> exportService.exportUsers(null, List.of("username", "password"), ExportFormat.CSV));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void givenSelectedFields_whenExportTournamentsCsv_thenReadAndWriteOnlyThoseColumns() throws IOException {
+        Tournament tournament = new Tournament();
+        tournament.setId("1");
+        tournament.setName("Cup, \"finals\"");
+        tournament.setGame("=HYPERLINK()");
+        tournament.setPrize(new BigDecimal("1E+3"));
+        tournament.setDateTime(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+        TournamentFilter filter = new TournamentFilter("Chess", null, null, null, null);
+        doReturn(Stream.of(tournament)).when(tournamentRepository).streamAll(eq(filter), any());
+
+        String export = write(exportService.exportTournaments(filter, List.of("id", "name", "game", "prize", "dateTime"), ExportFormat.CSV));
+
+        assertThat(export).isEqualTo("id,name,game,prize,dateTime\r\n1,\"Cup, \"\"finals\"\"\",'=HYPERLINK(),1000,2026-01-02T03:04:05\r\n");
+        verify(tournamentRepository).streamAll(filter, Set.of("id", "name", "game", "prize", "dateTime"));
+    }
+
+    private static String write(ExportService.Export export) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.unit.service;
+
+import org.example.model.MembershipStatus;
+import org.example.model.entity.PendingMembershipChange;
+import org.example.model.entity.Tournament;
+import org.example.repository.PendingMembershipChangeRepository;
+import org.example.repository.TournamentMembershipRepository;
+import org.example.repository.TournamentRepository;
+import org.example.service.MembershipReconciler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MembershipReconcilerUnitTest {
+
+    @Mock
+    PendingMembershipChangeRepository pendingMembershipChangeRepository;
+
+    @Mock
+    TournamentRepository tournamentRepository;
+
+    @Mock
+    TournamentMembershipRepository tournamentMembershipRepository;
+
+    @InjectMocks
+    MembershipReconciler membershipReconciler;
+
+    @Test
+    void givenInterruptedChange_whenReconcile_thenRecountParticipantsFromMemberships() {
+        PendingMembershipChange pendingChange = new PendingMembershipChange("p1", "1", List.of("2", "3"), Instant.now().minusSeconds(120));
+        doReturn(List.of(pendingChange)).when(pendingMembershipChangeRepository).findTop100ByCreatedAtBeforeOrderByCreatedAt(any());
+        doReturn(Optional.of(tournament(5))).when(tournamentRepository).findById("1");
+        doReturn(7L).when(tournamentMembershipRepository).countByTournamentIdAndStatus("1", MembershipStatus.JOINED);
+        doReturn(true).when(tournamentRepository).updateParticipantCount("1", 5, 7);
+
+        membershipReconciler.reconcile();
+
+        verify(tournamentRepository, times(1)).updateParticipantCount("1", 5, 7);
+        verify(pendingMembershipChangeRepository, times(1)).delete(pendingChange);
+    }
+
+    @Test
+    void givenConcurrentJoins_whenReconcile_thenNeverOverwriteChangedCountAndKeepChange() {
+        PendingMembershipChange pendingChange = new PendingMembershipChange("p1", "1", List.of("2"), Instant.now().minusSeconds(120));
+        doReturn(List.of(pendingChange)).when(pendingMembershipChangeRepository).findTop100ByCreatedAtBeforeOrderByCreatedAt(any());
+        doReturn(Optional.of(tournament(5))).when(tournamentRepository).findById("1");
+        doReturn(7L).when(tournamentMembershipRepository).countByTournamentIdAndStatus("1", MembershipStatus.JOINED);
+        doReturn(false).when(tournamentRepository).updateParticipantCount("1", 5, 7);
+
+        membershipReconciler.reconcile();
+
+        verify(tournamentRepository, times(3)).updateParticipantCount("1", 5, 7);
+        verify(pendingMembershipChangeRepository, never()).delete(any());
+    }
+
+    @Test
+    void givenOnlyRecentChanges_whenReconcile_thenLeaveThemAlone() {
+        doReturn(List.of()).when(pendingMembershipChangeRepository).findTop100ByCreatedAtBeforeOrderByCreatedAt(
+                argThat(cutoff -> cutoff.isBefore(Instant.now().minus(MembershipReconciler.GRACE_PERIOD).plusSeconds(1))));
+
+        membershipReconciler.reconcile();
+
+        verifyNoInteractions(tournamentRepository, tournamentMembershipRepository);
+    }
+
+    private static Tournament tournament(int participantCount) {
+        Tournament tournament = new Tournament();
+        tournament.setId("1");
+        tournament.setParticipantCount(participantCount);
+        return tournament;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.unit.service;
+
+import org.example.error.PasswordHashingBusyException;
+import org.example.service.PasswordHashingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class PasswordHashingServiceUnitTest {
+
+    PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+
+    PasswordHashingService passwordHashingService = new PasswordHashingService(passwordEncoder, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void givenPassword_whenEncode_thenDelegateToEncoder() {
+        doReturn("Encrypted Password").when(passwordEncoder).encode("Password");
+        doReturn(true).when(passwordEncoder).matches("Password", "Encrypted Password");
+
+        assertThat(passwordHashingService.encode("Password")).isEqualTo("Encrypted Password");
+        assertThat(passwordHashingService.asPasswordEncoder().matches("Password", "Encrypted Password")).isTrue();
+    }
+
+    @Test
+    void givenSaturatedPool_whenEncode_thenRejectWithPasswordHashingBusyException() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "Encrypted Password";
+        }).when(passwordEncoder).encode("Password");
+
+        CompletableFuture<String> running = passwordHashingService.encodeAsync("Password");
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = passwordHashingService.encodeAsync("Password");
+
+        PasswordHashingBusyException exception = assertThrows(PasswordHashingBusyException.class,
+                () -> passwordHashingService.encode("Password"));
+
+        assertThat(exception.getExtensions()).containsEntry("retryable", true);
+        assertThat(passwordHashingService.getRejectedCount()).isEqualTo(1);
+        assertThat(passwordHashingService.getQueueSize()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.join()).isEqualTo("Encrypted Password");
+        assertThat(queued.join()).isEqualTo("Encrypted Password");
+    }
+}
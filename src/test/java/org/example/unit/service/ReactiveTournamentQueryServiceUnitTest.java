@@ -0,0 +1,109 @@
+package org.example.unit.service;
+
+import org.bson.types.ObjectId;
+import org.example.model.Connection;
+import org.example.model.Cursor;
+import org.example.model.Edge;
+import org.example.model.MembershipStatus;
+import org.example.model.entity.Tournament;
+import org.example.model.entity.TournamentMembership;
+import org.example.repository.reactive.ReactiveTournamentMembershipRepository;
+import org.example.repository.reactive.ReactiveTournamentRepository;
+import org.example.service.ReactiveTournamentQueryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveTournamentQueryServiceUnitTest {
+
+    @Mock
+    ReactiveTournamentRepository reactiveTournamentRepository;
+
+    @Mock
+    ReactiveTournamentMembershipRepository reactiveTournamentMembershipRepository;
+
+    @InjectMocks
+    ReactiveTournamentQueryService reactiveTournamentQueryService;
+
+    @Test
+    void givenMoreTournamentsThanPageSize_whenGetTournaments_thenReturnPageWithNextPage() {
+        Tournament tournament1 = new Tournament();
+        tournament1.setId(new ObjectId().toHexString());
+        Tournament tournament2 = new Tournament();
+        tournament2.setId(new ObjectId().toHexString());
+
+        doReturn(Flux.just(tournament1, tournament2)).when(reactiveTournamentRepository).findPage(null, null, 2, null);
+
+        Connection<Tournament> connection = reactiveTournamentQueryService.getTournaments(1, null, null, null).block();
+
+        assertThat(connection.getEdges()).hasSize(1);
+        assertThat(connection.getPageInfo().isHasNextPage()).isTrue();
+        assertThat(connection.getPageInfo().getEndCursor()).isEqualTo(Cursor.encode(tournament1.getId()));
+    }
+
+    @Test
+    void givenUserId_whenJoinedTournaments_thenQueryMembershipsByUserId() {
+        Tournament tournament = new Tournament();
+        tournament.setId("10");
+        TournamentMembership membership = new TournamentMembership(new ObjectId().toHexString(), "10", "1", Instant.now(), MembershipStatus.JOINED);
+
+        doReturn(Flux.just(membership)).when(reactiveTournamentMembershipRepository).findJoinedBy("1", null, 21);
+        doReturn(Flux.just(tournament)).when(reactiveTournamentRepository).findByIds(List.of("10"), Set.of("id"));
+
+        Connection<Tournament> connection = reactiveTournamentQueryService.joinedTournaments("1", null, null, Set.of("id")).block();
+
+        assertThat(connection.getEdges()).extracting(Edge::getNode).containsExactly(tournament);
+        assertThat(connection.getEdges().get(0).getCursor()).isEqualTo(Cursor.encode(membership.getId()));
+    }
+
+    @Test
+    void givenTournamentId_whenGetParticipants_thenReturnRosterPage() {
+        TournamentMembership membership1 = new TournamentMembership(new ObjectId().toHexString(), "10", "1", Instant.now(), MembershipStatus.JOINED);
+        TournamentMembership membership2 = new TournamentMembership(new ObjectId().toHexString(), "10", "2", Instant.now(), MembershipStatus.JOINED);
+        doReturn(Flux.just(membership1, membership2)).when(reactiveTournamentMembershipRepository).findRoster("10", null, 2);
+
+        Connection<TournamentMembership> connection = reactiveTournamentQueryService.getParticipants("10", 1, null).block();
+
+        assertThat(connection.getEdges()).extracting(Edge::getNode).containsExactly(membership1);
+        assertThat(connection.getPageInfo().isHasNextPage()).isTrue();
+    }
+
+    @Test
+    void givenTournamentIds_whenGetRosters_thenGroupRostersByTournament() {
+        TournamentMembership membership1 = new TournamentMembership(new ObjectId().toHexString(), "10", "1", Instant.now(), MembershipStatus.JOINED);
+        TournamentMembership membership2 = new TournamentMembership(new ObjectId().toHexString(), "11", "1", Instant.now(), MembershipStatus.JOINED);
+        TournamentMembership membership3 = new TournamentMembership(new ObjectId().toHexString(), "10", "2", Instant.now(), MembershipStatus.JOINED);
+        doReturn(Flux.just(membership1, membership2, membership3)).when(reactiveTournamentMembershipRepository).findRosters(Set.of("10", "11"), 3);
+
+        Map<String, List<TournamentMembership>> rosters = reactiveTournamentQueryService.getRosters(Set.of("10", "11"), 3).block();
+
+        assertThat(rosters).containsOnlyKeys("10", "11");
+        assertThat(rosters.get("10")).containsExactly(membership1, membership3);
+        assertThat(rosters.get("11")).containsExactly(membership2);
+    }
+
+    @Test
+    void givenUserId_whenCreatedTournaments_thenQueryTournamentsOwnedByUserId() {
+        Tournament tournament = new Tournament();
+        tournament.setId("10");
+        tournament.setOwnerId("1");
+
+        doReturn(Flux.just(tournament)).when(reactiveTournamentRepository).findOwnedBy("1", Set.of("id"));
+
+        List<Tournament> tournaments = reactiveTournamentQueryService.createdTournaments("1", Set.of("id")).collectList().block();
+
+        assertThat(tournaments).containsExactly(tournament);
+    }
+}
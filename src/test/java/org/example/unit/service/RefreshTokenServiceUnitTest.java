@@ -0,0 +1,113 @@
+package org.example.unit.service;
+
+import org.example.config.security.AuthenticatedUser;
+import org.example.error.InvalidRefreshTokenException;
+import org.example.model.entity.RefreshToken;
+import org.example.model.entity.Role;
+import org.example.model.entity.User;
+import org.example.repository.RefreshTokenRepository;
+import org.example.repository.UserRepository;
+import org.example.service.RefreshTokenService;
+import org.example.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceUnitTest {
+
+    @Mock
+    TokenService tokenService;
+
+    @Mock
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    UserRepository userRepository;
+
+    RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(tokenService, refreshTokenRepository, userRepository, Duration.ofDays(7));
+    }
+
+    @Test
+    void givenLogin_whenIssueTokens_thenStoreOnlyHashOfRefreshToken() {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser("1", "user1", null, authorities), null, authorities);
+        doReturn("access").when(tokenService).generateToken(authentication, RefreshTokenService.ACCESS_TOKEN_MINUTES);
+
+        Map<String, String> tokens = refreshTokenService.issueTokens(authentication);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(tokens.get("access_token")).isEqualTo("access");
+        assertThat(tokens.get("refresh_token")).isNotBlank();
+        assertThat(saved.getValue().getTokenHash()).isNotEqualTo(tokens.get("refresh_token"));
+        assertThat(saved.getValue().getUserId()).isEqualTo("1");
+        assertThat(saved.getValue().getExpiresAt()).isAfter(Instant.now().plus(Duration.ofDays(6)));
+    }
+
+    @Test
+    void givenUnusedToken_whenRefresh_thenIssueSuccessorInSameFamily() {
+        RefreshToken current = new RefreshToken("r1", "hash", "family", "1", "user1", Instant.now().plusSeconds(60), null, false);
+        User user = new User();
+        user.setId("1");
+        user.setUsername("user1");
+        user.getRoleList().add(new Role(null, "ROLE_USER"));
+        doReturn(current).when(refreshTokenRepository).markUsed(any(), any());
+        doReturn(user).when(userRepository).findCredentialsByUsername("user1");
+        doReturn("access").when(tokenService).generateToken(any(), eq(RefreshTokenService.ACCESS_TOKEN_MINUTES));
+
+        Map<String, String> tokens = refreshTokenService.refresh("token");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(tokens.get("access_token")).isEqualTo("access");
+        assertThat(tokens.get("refresh_token")).isNotEqualTo("token");
+        assertThat(saved.getValue().getFamilyId()).isEqualTo("family");
+        verify(refreshTokenRepository, times(0)).revokeFamily(any());
+    }
+
+    @Test
+    void givenAlreadyUsedToken_whenRefresh_thenRevokeFamily() {
+        RefreshToken used = new RefreshToken("r1", "hash", "family", "1", "user1", Instant.now().plusSeconds(60), Instant.now(), false);
+        doReturn(null).when(refreshTokenRepository).markUsed(any(), any());
+        doReturn(used).when(refreshTokenRepository).findByTokenHash(any());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("token"));
+
+        verify(refreshTokenRepository, times(1)).revokeFamily("family");
+        verify(refreshTokenRepository, times(0)).save(any());
+        verifyNoInteractions(tokenService, userRepository);
+    }
+
+    @Test
+    void givenUnknownToken_whenRefresh_thenReject() {
+        doReturn(null).when(refreshTokenRepository).markUsed(any(), any());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("token"));
+
+        verify(refreshTokenRepository, times(0)).revokeFamily(any());
+        verifyNoInteractions(tokenService);
+    }
+}
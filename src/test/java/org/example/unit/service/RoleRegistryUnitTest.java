@@ -0,0 +1,61 @@
+package org.example.unit.service;
+
+import org.example.model.entity.Role;
+import org.example.repository.RoleRepository;
+import org.example.service.RoleRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoleRegistryUnitTest {
+
+    @Mock
+    RoleRepository roleRepository;
+
+    @InjectMocks
+    RoleRegistry roleRegistry;
+
+    @Test
+    void givenLoadedRoles_whenFindByName_thenReturnRoleWithoutQuery() {
+        Role userRole = new Role("1", "ROLE_USER");
+        Role adminRole = new Role("2", "ROLE_ADMIN");
+        doReturn(List.of(userRole, adminRole)).when(roleRepository).findAll();
+
+        roleRegistry.refresh();
+        Role returnedRole = roleRegistry.findByName("ROLE_USER");
+
+        assertThat(returnedRole).isEqualTo(userRole);
+        verify(roleRepository, times(0)).findByName(any());
+    }
+
+    @Test
+    void givenRoleCreatedElsewhere_whenFindByName_thenLoadAndRefresh() {
+        Role managerRole = new Role("3", "ROLE_MANAGER");
+        doReturn(managerRole).when(roleRepository).findByName("ROLE_MANAGER");
+        doReturn(List.of(managerRole)).when(roleRepository).findAll();
+
+        Role returnedRole = roleRegistry.findByName("ROLE_MANAGER");
+        roleRegistry.findByName("ROLE_MANAGER");
+
+        assertThat(returnedRole).isEqualTo(managerRole);
+        verify(roleRepository, times(1)).findByName("ROLE_MANAGER");
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void givenUnknownRole_whenFindByName_thenReturnNull() {
+        doReturn(null).when(roleRepository).findByName("ROLE_UNKNOWN");
+
+        assertThat(roleRegistry.findByName("ROLE_UNKNOWN")).isNull();
+        verify(roleRepository, times(0)).findAll();
+    }
+}
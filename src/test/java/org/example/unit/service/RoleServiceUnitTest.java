@@ -3,7 +3,7 @@ package org.example.unit.service;
 import org.example.model.entity.Role;
 import org.example.model.entity.User;
 import org.example.repository.RoleRepository;
-import org.example.service.RoleService;
+import org.example.service.RoleRegistry;
 import org.example.service.RoleServiceImpl;
 import org.example.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -15,7 +15,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class RoleServiceUnitTest {
@@ -26,6 +27,9 @@ public class RoleServiceUnitTest {
     @Mock
     UserService userService;
 
+    @Mock
+    RoleRegistry roleRegistry;
+
     @InjectMocks
     RoleServiceImpl roleService;
 
@@ -37,6 +41,7 @@ public class RoleServiceUnitTest {
         Role savedRole = roleService.saveRole(returnRole);
 
         assertThat(savedRole.getName()).isEqualTo("ROLE_TEST");
+        verify(roleRegistry, times(1)).refresh();
     }
 
     @Test
@@ -56,7 +61,7 @@ public class RoleServiceUnitTest {
         returnSaveUser.getRoleList().add(role2);
 
 
-        doReturn(role2).when(roleRepository).findByName("ROLE_ADMIN");
+        doReturn(role2).when(roleRegistry).findByName("ROLE_ADMIN");
         doReturn(beforeSaveUser).when(userService).getUser("user1");
         doReturn(returnSaveUser).when(userService).saveOrUpdate(returnSaveUser);
 
@@ -70,12 +75,13 @@ public class RoleServiceUnitTest {
     void givenRoleName_whenFindRoleByName_thenReturnRole(){
         Role returnRole = new Role("1", "ROLE_USER");
 
-        doReturn(returnRole).when(roleRepository).findByName("ROLE_USER");
+        doReturn(returnRole).when(roleRegistry).findByName("ROLE_USER");
 
         Role returnedRole = roleService.findRoleByName("ROLE_USER");
 
         assertThat(returnedRole.getId()).isEqualTo("1");
         assertThat(returnedRole.getName()).isEqualTo("ROLE_USER");
+        verify(roleRepository, times(0)).findByName(any());
     }
 
 }
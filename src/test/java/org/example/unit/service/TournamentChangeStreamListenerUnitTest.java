@@ -0,0 +1,98 @@
+package org.example.unit.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.example.model.entity.Tournament;
+import org.example.service.TournamentChangeStreamListener;
+import org.example.service.TournamentEventPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TournamentChangeStreamListenerUnitTest {
+
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    @Mock
+    MongoCollection<Document> collection;
+
+    @Mock
+    ChangeStreamIterable<Document> changeStream;
+
+    @Mock
+    MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    @Mock
+    TournamentEventPublisher tournamentEventPublisher;
+
+    @InjectMocks
+    TournamentChangeStreamListener tournamentChangeStreamListener;
+
+    @BeforeEach
+    void setUp() {
+        doReturn("Tournament").when(mongoTemplate).getCollectionName(Tournament.class);
+        doReturn(collection).when(mongoTemplate).getCollection("Tournament");
+        doReturn(changeStream).when(collection).watch(anyList());
+        doReturn(changeStream).when(changeStream).fullDocument(FullDocument.UPDATE_LOOKUP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tournamentChangeStreamListener.stop();
+    }
+
+    @Test
+    void givenChanges_whenStart_thenEmitChangedTournaments() {
+        Tournament tournament = new Tournament();
+        tournament.setId("1");
+        Document fullDocument = new Document("_id", "1");
+        ChangeStreamDocument<Document> event = new ChangeStreamDocument<>("update", new BsonDocument("_data", new BsonString("1")),
+                null, null, fullDocument, null, null, null, null, null);
+        MongoConverter converter = mock(MongoConverter.class);
+        doReturn(cursor).when(changeStream).cursor();
+        doReturn(true, false).when(cursor).hasNext();
+        doReturn(event).when(cursor).next();
+        doReturn(converter).when(mongoTemplate).getConverter();
+        doReturn(tournament).when(converter).read(Tournament.class, fullDocument);
+
+        tournamentChangeStreamListener.start();
+
+        verify(tournamentEventPublisher, timeout(5000)).emit(tournament);
+        verify(cursor, timeout(5000)).close();
+        verify(tournamentEventPublisher, times(0)).useInProcessEvents();
+    }
+
+    @Test
+    void givenStandaloneServer_whenStart_thenFallBackToInProcessEvents() {
+        BsonDocument response = new BsonDocument("ok", new BsonInt32(0))
+                .append("code", new BsonInt32(40573))
+                .append("errmsg", new BsonString("The $changeStream stage is only supported on replica sets"));
+        doThrow(new MongoCommandException(response, new ServerAddress())).when(changeStream).cursor();
+
+        tournamentChangeStreamListener.start();
+
+        verify(tournamentEventPublisher, timeout(5000)).useInProcessEvents();
+        verify(changeStream, times(1)).cursor();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.unit.service;
+
+import org.example.model.entity.Tournament;
+import org.example.service.TournamentEventPublisher;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+public class TournamentEventPublisherUnitTest {
+
+    @Test
+    void givenSubscribers_whenTournamentChanged_thenFanOutToSubscribersOfThatTournament() {
+        TournamentEventPublisher publisher = new TournamentEventPublisher(false, 16);
+        Tournament tournament1 = tournament("1");
+        Tournament tournament2 = tournament("2");
+
+        StepVerifier first = StepVerifier.create(publisher.changes("1"))
+                .expectNext(tournament1)
+                .thenCancel()
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(publisher.changes("1"))
+                .expectNext(tournament1)
+                .thenCancel()
+                .verifyLater();
+
+        publisher.tournamentChanged(tournament2);
+        publisher.tournamentChanged(tournament1);
+
+        first.verify(Duration.ofSeconds(5));
+        second.verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void givenSlowSubscriber_whenBufferOverflows_thenDropOldestWithoutAffectingOthers() {
+        TournamentEventPublisher publisher = new TournamentEventPublisher(false, 2);
+        Tournament change1 = tournament("1");
+        Tournament change2 = tournament("1");
+        change2.setName("2");
+        Tournament change3 = tournament("1");
+        change3.setName("3");
+
+        StepVerifier fast = StepVerifier.create(publisher.changes("1"))
+                .expectNext(change1, change2, change3)
+                .thenCancel()
+                .verifyLater();
+        StepVerifier slow = StepVerifier.create(publisher.changes("1"), 0)
+                .then(() -> {
+                    publisher.tournamentChanged(change1);
+                    publisher.tournamentChanged(change2);
+                    publisher.tournamentChanged(change3);
+                })
+                .thenRequest(2)
+                .expectNext(change2, change3)
+                .thenCancel()
+                .verifyLater();
+
+        slow.verify(Duration.ofSeconds(5));
+        fast.verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void givenChangeStreamsEnabled_whenTournamentChanged_thenOnlyEmitFromChangeStream() {
+        TournamentEventPublisher publisher = new TournamentEventPublisher(true, 16);
+        Tournament local = tournament("1");
+        Tournament streamed = tournament("1");
+        streamed.setName("streamed");
+
+        StepVerifier subscriber = StepVerifier.create(publisher.changes("1"))
+                .expectNext(streamed)
+                .thenCancel()
+                .verifyLater();
+
+        publisher.tournamentChanged(local);
+        publisher.emit(streamed);
+
+        subscriber.verify(Duration.ofSeconds(5));
+    }
+
+    private static Tournament tournament(String id) {
+        Tournament tournament = new Tournament();
+        tournament.setId(id);
+        return tournament;
+    }
+}
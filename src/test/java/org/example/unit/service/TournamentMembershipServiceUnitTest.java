@@ -0,0 +1,156 @@
+package org.example.unit.service;
+
+import com.mongodb.MongoException;
+import org.example.error.UserAlreadyJoinException;
+import org.example.model.JoinStatus;
+import org.example.model.entity.Tournament;
+import org.example.repository.PendingMembershipChangeRepository;
+import org.example.service.TournamentMembershipService;
+import org.example.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TournamentMembershipServiceUnitTest {
+
+    @Mock
+    TournamentService tournamentService;
+
+    @Mock
+    PendingMembershipChangeRepository pendingMembershipChangeRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+
+    TournamentMembershipService tournamentMembershipService;
+
+    @BeforeEach
+    void setUp() {
+        tournamentMembershipService = new TournamentMembershipService(tournamentService, pendingMembershipChangeRepository, transactionManagerProvider, false);
+    }
+
+    private TournamentMembershipService transactional() {
+        doReturn(transactionManager).when(transactionManagerProvider).getObject();
+        return new TournamentMembershipService(tournamentService, pendingMembershipChangeRepository, transactionManagerProvider, true);
+    }
+
+    @Test
+    void givenNoTransactions_whenJoinTournament_thenWriteWithoutRecordingChange() {
+        Tournament tournament = new Tournament();
+        doReturn(tournament).when(tournamentService).joinTournament("1", "2");
+
+        assertThat(tournamentMembershipService.joinTournament("1", "2")).isSameAs(tournament);
+
+        verifyNoInteractions(pendingMembershipChangeRepository);
+    }
+
+    @Test
+    void givenRejectedJoin_whenJoinTournament_thenRethrowWithoutRecordingChange() {
+        doThrow(new UserAlreadyJoinException("You already joined tournament!", "user id")).when(tournamentService).joinTournament("1", "2");
+
+        assertThrows(UserAlreadyJoinException.class, () -> {
+            tournamentMembershipService.joinTournament("1", "2");
+        });
+
+        verifyNoInteractions(pendingMembershipChangeRepository);
+    }
+
+    @Test
+    void givenFailedWrite_whenUnjoinTournament_thenRecordChangeForReconciler() {
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(tournamentService).unjoinTournament("1", "2");
+
+        assertThrows(DataAccessResourceFailureException.class, () -> {
+            tournamentMembershipService.unjoinTournament("1", "2");
+        });
+
+        verify(pendingMembershipChangeRepository, times(1)).save(argThat(change ->
+                change.getTournamentId().equals("1") && change.getUserIds().equals(List.of("2")) && change.getCreatedAt() != null));
+    }
+
+    @Test
+    void givenUnrecordableFailure_whenUnjoinTournament_thenRethrowOriginalError() {
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("connection lost");
+        doThrow(failure).when(tournamentService).unjoinTournament("1", "2");
+        doThrow(new DataAccessResourceFailureException("still down")).when(pendingMembershipChangeRepository).save(any());
+
+        DataAccessResourceFailureException thrown = assertThrows(DataAccessResourceFailureException.class, () -> {
+            tournamentMembershipService.unjoinTournament("1", "2");
+        });
+
+        assertThat(thrown).isSameAs(failure);
+        assertThat(thrown.getSuppressed()).hasSize(1);
+    }
+
+    @Test
+    void givenTransactions_whenJoinTournamentAsTeam_thenWriteWithoutRecordingChange() {
+        TournamentMembershipService tournamentMembershipService = transactional();
+        Map<String, JoinStatus> statuses = Map.of("2", JoinStatus.JOINED);
+        doReturn(statuses).when(tournamentService).joinTournamentAsTeam("1", List.of("2"));
+
+        assertThat(tournamentMembershipService.joinTournamentAsTeam("1", List.of("2"))).isEqualTo(statuses);
+
+        verify(transactionManager, times(1)).commit(any());
+        verifyNoInteractions(pendingMembershipChangeRepository);
+    }
+
+    @Test
+    void givenWriteConflict_whenJoinTournament_thenRetryTransaction() {
+        TournamentMembershipService tournamentMembershipService = transactional();
+        Tournament tournament = new Tournament();
+        doThrow(writeConflict()).doReturn(tournament).when(tournamentService).joinTournament("1", "2");
+
+        assertThat(tournamentMembershipService.joinTournament("1", "2")).isSameAs(tournament);
+
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void givenPersistentWriteConflict_whenJoinTournament_thenGiveUpAfterMaxAttempts() {
+        TournamentMembershipService tournamentMembershipService = transactional();
+        doThrow(writeConflict()).when(tournamentService).joinTournament("1", "2");
+
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            tournamentMembershipService.joinTournament("1", "2");
+        });
+
+        verify(tournamentService, times(5)).joinTournament("1", "2");
+    }
+
+    @Test
+    void givenNonTransientError_whenJoinTournament_thenDoNotRetry() {
+        TournamentMembershipService tournamentMembershipService = transactional();
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(tournamentService).joinTournament("1", "2");
+
+        assertThrows(DataAccessResourceFailureException.class, () -> {
+            tournamentMembershipService.joinTournament("1", "2");
+        });
+
+        verify(tournamentService, times(1)).joinTournament("1", "2");
+    }
+
+    private static DataIntegrityViolationException writeConflict() {
+        MongoException conflict = new MongoException(112, "WriteConflict");
+        conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return new DataIntegrityViolationException("WriteConflict", conflict);
+    }
+}
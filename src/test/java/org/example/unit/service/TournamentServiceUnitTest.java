@@ -1,13 +1,27 @@
 package org.example.unit.service;
 
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.example.error.InvalidCursorException;
+import org.example.error.InvalidTournamentInputException;
+import org.example.error.TournamentFullException;
 import org.example.error.UserAlreadyJoinException;
 import org.example.error.UserDidNotJoinException;
 import org.example.error.WrongUserException;
 import org.example.mapper.TournamentMapper;
+import org.example.model.Connection;
 import org.example.model.CreateTournamentInput;
+import org.example.model.Cursor;
+import org.example.model.EditTournamentInput;
+import org.example.model.JoinStatus;
+import org.example.model.MembershipStatus;
+import org.example.model.TournamentFilter;
+import org.example.model.TournamentImportResult;
 import org.example.model.entity.Tournament;
-import org.example.model.entity.User;
+import org.example.model.entity.TournamentMembership;
+import org.example.repository.TournamentMembershipRepository;
 import org.example.repository.TournamentRepository;
+import org.example.service.TournamentEventPublisher;
 import org.example.service.TournamentService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,15 +30,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +53,12 @@ public class TournamentServiceUnitTest {
     @Mock
     TournamentRepository tournamentRepository;
 
+    @Mock
+    TournamentMembershipRepository tournamentMembershipRepository;
+
+    @Mock
+    TournamentEventPublisher tournamentEventPublisher;
+
     @InjectMocks
     TournamentService tournamentService;
 
@@ -84,41 +110,106 @@ public class TournamentServiceUnitTest {
     }
 
     @Test
-    void whenGetTournaments_thenReturnTournamentList() {
+    void whenGetTournaments_thenReturnTournamentConnection() {
         Tournament tournament1 = new Tournament();
-        tournament1.setId("1");
+        tournament1.setId("6370f2a1c7a5e83c1b8c4a01");
         tournament1.setName("tournament1");
         tournament1.setGame("game1");
         Tournament tournament2 = new Tournament();
-        tournament2.setId("2");
+        tournament2.setId("6370f2a1c7a5e83c1b8c4a02");
         tournament2.setName("tournament2");
         tournament2.setGame("game2");
 
-        doReturn(List.of(tournament1, tournament2)).when(tournamentRepository).findAll();
+        doReturn(List.of(tournament1, tournament2)).when(tournamentRepository).findPage(null, null, TournamentService.DEFAULT_PAGE_SIZE + 1, null);
 
-        List<Tournament> returnedTournaments = tournamentService.getTournaments();
+        Connection<Tournament> returnedTournaments = tournamentService.getTournaments(null, null, null, null);
 
-        assertThat(returnedTournaments.size()).isEqualTo(2);
+        assertThat(returnedTournaments.getEdges().size()).isEqualTo(2);
+        assertThat(returnedTournaments.getPageInfo().isHasNextPage()).isFalse();
+        assertThat(returnedTournaments.getPageInfo().getEndCursor()).isEqualTo(Cursor.encode(tournament2.getId()));
     }
 
     @Test
-    void givenUserId_whenJoinedTournaments_thenReturnTournamentList() {
+    void givenFirstAndAfter_whenGetTournaments_thenReturnNextPage() {
+        Tournament tournament2 = new Tournament();
+        tournament2.setId("6370f2a1c7a5e83c1b8c4a02");
+        Tournament tournament3 = new Tournament();
+        tournament3.setId("6370f2a1c7a5e83c1b8c4a03");
+        TournamentFilter filter = new TournamentFilter("game1", null, null, null, null);
+
+        doReturn(List.of(tournament2, tournament3)).when(tournamentRepository).findPage(filter, "6370f2a1c7a5e83c1b8c4a01", 2, Set.of("id", "name"));
+
+        Connection<Tournament> returnedTournaments = tournamentService.getTournaments(1, Cursor.encode("6370f2a1c7a5e83c1b8c4a01"), filter, Set.of("id", "name"));
+
+        assertThat(returnedTournaments.getEdges().size()).isEqualTo(1);
+        assertThat(returnedTournaments.getEdges().get(0).getNode().getId()).isEqualTo(tournament2.getId());
+        assertThat(returnedTournaments.getPageInfo().isHasNextPage()).isTrue();
+        assertThat(returnedTournaments.getPageInfo().getEndCursor()).isEqualTo(Cursor.encode(tournament2.getId()));
+    }
+
+    @Test
+    void givenInvalidCursor_whenGetTournaments_thenThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> {
+            tournamentService.getTournaments(10, "not a cursor", null, null);
+        });
+
+        verify(tournamentRepository, times(0)).findPage(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void givenUserId_whenJoinedTournaments_thenReturnTournamentsInMembershipOrder() {
         Tournament tournament1 = new Tournament();
         tournament1.setId("1");
-        tournament1.setName("tournament1");
         tournament1.setGame("game1");
-        tournament1.setOwnerId("1");
         Tournament tournament2 = new Tournament();
         tournament2.setId("2");
-        tournament2.setName("tournament2");
         tournament2.setGame("game2");
-        tournament2.setOwnerId("1");
+        TournamentMembership membership1 = membership("2", "1");
+        TournamentMembership membership2 = membership("1", "1");
+        TournamentMembership membership3 = membership("3", "1");
 
-        doReturn(List.of(tournament1, tournament2)).when(tournamentRepository).findByUserListContaining("1");
+        doReturn(List.of(membership1, membership2, membership3)).when(tournamentMembershipRepository).findJoinedBy("1", null, 3);
+        doReturn(List.of(tournament1, tournament2)).when(tournamentRepository).findByIds(List.of("2", "1"), Set.of("id", "game"));
 
-        List<Tournament> returnedTournaments = tournamentService.joinedTournaments("1");
+        Connection<Tournament> connection = tournamentService.joinedTournaments("1", 2, null, Set.of("id", "game"));
 
-        assertThat(returnedTournaments.size()).isEqualTo(2);
+        assertThat(connection.getEdges()).extracting(edge -> edge.getNode().getId()).containsExactly("2", "1");
+        assertThat(connection.getEdges().get(0).getCursor()).isEqualTo(Cursor.encode(membership1.getId()));
+        assertThat(connection.getPageInfo().isHasNextPage()).isTrue();
+        assertThat(connection.getPageInfo().getEndCursor()).isEqualTo(Cursor.encode(membership2.getId()));
+    }
+
+    @Test
+    void givenMembershipOfDeletedTournament_whenJoinedTournaments_thenSkipItButKeepCursor() {
+        TournamentMembership membership = membership("9", "1");
+        doReturn(List.of(membership)).when(tournamentMembershipRepository).findJoinedBy("1", null, 21);
+        doReturn(List.of()).when(tournamentRepository).findByIds(List.of("9"), null);
+
+        Connection<Tournament> connection = tournamentService.joinedTournaments("1", null, null, null);
+
+        assertThat(connection.getEdges()).isEmpty();
+        assertThat(connection.getPageInfo().isHasNextPage()).isFalse();
+        assertThat(connection.getPageInfo().getEndCursor()).isEqualTo(Cursor.encode(membership.getId()));
+    }
+
+    @Test
+    void givenUsers_whenGetTournamentsByUserIds_thenGroupCreatedAndJoinedTournaments() {
+        Tournament created = new Tournament();
+        created.setId("1");
+        created.setOwnerId("10");
+        Tournament joined = new Tournament();
+        joined.setId("2");
+        joined.setOwnerId("30");
+
+        doReturn(List.of(membership("2", "10"), membership("1", "10"), membership("2", "20")))
+                .when(tournamentMembershipRepository).findJoinedByAny(List.of("10", "20"));
+        doReturn(List.of(created, joined)).when(tournamentRepository).findByIdIn(Set.of("1", "2"));
+        doReturn(List.of(created)).when(tournamentRepository).findByOwnerIdIn(List.of("10", "20"));
+
+        Map<String, List<Tournament>> tournaments = tournamentService.getTournamentsByUserIds(List.of("10", "20"));
+
+        assertThat(tournaments.get("10")).containsExactly(created, joined);
+        assertThat(tournaments.get("20")).containsExactly(joined);
     }
 
     @Test
@@ -134,9 +225,9 @@ public class TournamentServiceUnitTest {
         tournament2.setGame("game2");
         tournament2.setOwnerId("1");
 
-        doReturn(List.of(tournament1, tournament2)).when(tournamentRepository).findByOwnerId("1");
+        doReturn(List.of(tournament1, tournament2)).when(tournamentRepository).findOwnedBy("1", null);
 
-        List<Tournament> returnedTournaments = tournamentService.createdTournaments("1");
+        List<Tournament> returnedTournaments = tournamentService.createdTournaments("1", null);
 
         assertThat(returnedTournaments.size()).isEqualTo(2);
     }
@@ -190,171 +281,284 @@ public class TournamentServiceUnitTest {
     }
 
     @Test
-    void givenTournament_AndUser_whenJoinTournament_thenReturnTournament() {
-        User willJoinUser = new User();
-        willJoinUser.setId("2");
-        willJoinUser.setUsername("user2");
-
-        Tournament tournament1 = new Tournament();
-        tournament1.setId("1");
-        tournament1.setName("test mutation name");
-        tournament1.setGame("test mutation game");
-        tournament1.setPrize(BigDecimal.valueOf(50.50));
-        tournament1.setCurrency("TRY");
-        tournament1.setRegion("Europe");
-        tournament1.setBracketType("Battle Royal");
-        tournament1.setTeamSize(5);
-        tournament1.setOwnerId("2");
-        tournament1.getUserList().add("1");
-
+    void givenTournamentId_AndUserId_whenJoinTournament_thenReturnTournament() {
         Tournament savedTournament = new Tournament();
         savedTournament.setId("1");
         savedTournament.setName("test mutation name");
-        savedTournament.setGame("test mutation game");
-        savedTournament.setPrize(BigDecimal.valueOf(50.50));
-        savedTournament.setCurrency("TRY");
-        savedTournament.setRegion("Europe");
-        savedTournament.setBracketType("Battle Royal");
-        savedTournament.setTeamSize(5);
         savedTournament.setOwnerId("2");
-        savedTournament.getUserList().addAll(tournament1.getUserList());
-        savedTournament.getUserList().add("2");
+        savedTournament.setParticipantCount(3);
 
-        doReturn(savedTournament).when(tournamentRepository).save(savedTournament);
+        doReturn(true).when(tournamentMembershipRepository).join("1", "2");
+        doReturn(savedTournament).when(tournamentRepository).reserveSlots("1", 1);
 
-        Tournament returnedTournaments = tournamentService.joinTournament(tournament1, willJoinUser);
+        Tournament returnedTournaments = tournamentService.joinTournament("1", "2");
 
-        assertThat(returnedTournaments.getUserList()).contains("2");
+        assertThat(returnedTournaments.getParticipantCount()).isEqualTo(3);
+        verify(tournamentRepository, times(0)).save(any());
+        verify(tournamentEventPublisher, times(1)).tournamentChanged(savedTournament);
     }
 
     @Test
-    void givenTournament_AndAlreadyJoinedUser_whenJoinTournament_thenThrowUserAlreadyJoinException() {
-        User willJoinUser = new User();
-        willJoinUser.setId("2");
-        willJoinUser.setUsername("user2");
+    void givenTournamentId_AndAlreadyJoinedUserId_whenJoinTournament_thenReleaseSlotAndThrowUserAlreadyJoinException() {
+        doReturn(new Tournament()).when(tournamentRepository).reserveSlots("1", 1);
+        doReturn(false).when(tournamentMembershipRepository).join("1", "2");
 
-        Tournament tournament1 = new Tournament();
-        tournament1.setId("1");
-        tournament1.setName("test mutation name");
-        tournament1.setGame("test mutation game");
-        tournament1.setPrize(BigDecimal.valueOf(50.50));
-        tournament1.setCurrency("TRY");
-        tournament1.setRegion("Europe");
-        tournament1.setBracketType("Battle Royal");
-        tournament1.setTeamSize(5);
-        tournament1.setOwnerId("2");
-        tournament1.setUserList(List.of("1", "2"));
+        assertThrows(UserAlreadyJoinException.class, () -> {
+            tournamentService.joinTournament("1", "2");
+        });
+
+        verify(tournamentRepository, times(1)).releaseSlots("1", 1);
+        verify(tournamentEventPublisher, times(0)).tournamentChanged(any());
+    }
+
+    @Test
+    void givenFullTournamentId_AndAlreadyJoinedUserId_whenJoinTournament_thenThrowUserAlreadyJoinException() {
+        doReturn(null).when(tournamentRepository).reserveSlots("1", 1);
+        doReturn(true).when(tournamentRepository).existsById("1");
+        doReturn(Set.of("2")).when(tournamentMembershipRepository).findJoinedUserIds("1", List.of("2"));
 
         assertThrows(UserAlreadyJoinException.class, () -> {
-            tournamentService.joinTournament(tournament1, willJoinUser);
+            tournamentService.joinTournament("1", "2");
+        });
+
+        verify(tournamentMembershipRepository, times(0)).join(any(), any());
+    }
+
+    @Test
+    void givenFullTournamentId_AndUserId_whenJoinTournament_thenThrowTournamentFullException() {
+        doReturn(null).when(tournamentRepository).reserveSlots("1", 1);
+        doReturn(true).when(tournamentRepository).existsById("1");
+        doReturn(Set.of()).when(tournamentMembershipRepository).findJoinedUserIds("1", List.of("2"));
+
+        assertThrows(TournamentFullException.class, () -> {
+            tournamentService.joinTournament("1", "2");
+        });
+
+        verify(tournamentMembershipRepository, times(0)).join(any(), any());
+        verify(tournamentEventPublisher, times(0)).tournamentChanged(any());
+    }
+
+    @Test
+    void givenMissingTournamentId_AndUserId_whenJoinTournament_thenThrowNoSuchElementException() {
+        doReturn(null).when(tournamentRepository).reserveSlots("1", 1);
+        doReturn(false).when(tournamentRepository).existsById("1");
+
+        assertThrows(NoSuchElementException.class, () -> {
+            tournamentService.joinTournament("1", "2");
         });
 
+        verify(tournamentMembershipRepository, times(0)).join(any(), any());
+    }
+
+    @Test
+    void givenInputs_whenCreateTournaments_thenReportResultPerInput() {
+        CreateTournamentInput valid = new CreateTournamentInput();
+        valid.setName("valid");
+        valid.setDateTime("01-01-2030 12:00:00");
+        CreateTournamentInput invalidDate = new CreateTournamentInput();
+        invalidDate.setName("invalid date");
+        invalidDate.setDateTime("2030-01-01");
+        CreateTournamentInput duplicate = new CreateTournamentInput();
+        duplicate.setName("duplicate");
+
+        doReturn(Map.of(1, "E11000 duplicate key error")).when(tournamentRepository).insertAll(argThat(tournaments -> tournaments.size() == 2));
+
+        List<TournamentImportResult> results = tournamentService.createTournaments(List.of(valid, invalidDate, duplicate), "1");
+
+        assertThat(results).extracting(TournamentImportResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(results.get(0).getTournament().getId()).isNotNull();
+        assertThat(results.get(0).getTournament().getOwnerId()).isEqualTo("1");
+        assertThat(results.get(0).getError()).isNull();
+        assertThat(results.get(1).getTournament()).isNull();
+        assertThat(results.get(1).getError()).startsWith("Invalid tournament input");
+        assertThat(results.get(2).getTournament()).isNull();
+        assertThat(results.get(2).getError()).isEqualTo("E11000 duplicate key error");
         verify(tournamentRepository, times(0)).save(any());
     }
 
     @Test
-    void givenTournament_AndUser_whenUnjoinTournament_thenReturnTournament() {
-        User willUnjoinUser = new User();
-        willUnjoinUser.setId("2");
-        willUnjoinUser.setUsername("user2");
+    void givenNoFreeSlots_whenCreateTournament_thenThrowInvalidTournamentInputException() {
+        CreateTournamentInput input = new CreateTournamentInput();
+        input.setName("closed");
+        input.setMaxParticipants(0);
 
-        Tournament tournament1 = new Tournament();
-        tournament1.setId("1");
-        tournament1.setName("test mutation name");
-        tournament1.setGame("test mutation game");
-        tournament1.setPrize(BigDecimal.valueOf(50.50));
-        tournament1.setCurrency("TRY");
-        tournament1.setRegion("Europe");
-        tournament1.setBracketType("Battle Royal");
-        tournament1.setTeamSize(5);
-        tournament1.setOwnerId("2");
-        tournament1.getUserList().addAll(List.of("1", "2"));
+        assertThrows(InvalidTournamentInputException.class, () -> {
+            tournamentService.createTournament(input, "1");
+        });
+
+        verify(tournamentRepository, times(0)).save(any());
+    }
+
+    @Test
+    void givenNoFreeSlots_whenCreateTournaments_thenReportOnlyThatInput() {
+        CreateTournamentInput valid = new CreateTournamentInput();
+        valid.setName("valid");
+        valid.setMaxParticipants(1);
+        CreateTournamentInput closed = new CreateTournamentInput();
+        closed.setName("closed");
+        closed.setMaxParticipants(-5);
+
+        doReturn(Map.of()).when(tournamentRepository).insertAll(argThat(tournaments -> tournaments.size() == 1));
+
+        List<TournamentImportResult> results = tournamentService.createTournaments(List.of(valid, closed), "1");
+
+        assertThat(results.get(0).getTournament()).isNotNull();
+        assertThat(results.get(1).getTournament()).isNull();
+        assertThat(results.get(1).getError()).isEqualTo("Invalid tournament input: maxParticipants must be at least 1");
+    }
+
+    @Test
+    void givenTeam_whenJoinTournamentAsTeam_thenJoinOnlyNewMembers() {
+        doReturn(Set.of("2")).when(tournamentMembershipRepository).findJoinedUserIds("1", List.of("2", "3", "4"));
+        doReturn(List.of("3", "4")).when(tournamentMembershipRepository).joinAll("1", List.of("3", "4"));
+        Tournament tournament = new Tournament();
+        tournament.setId("1");
+        doReturn(tournament).when(tournamentRepository).reserveSlots("1", 2);
+
+        Map<String, JoinStatus> statuses = tournamentService.joinTournamentAsTeam("1", List.of("2", "3", "4"));
+
+        assertThat(statuses).containsExactly(
+                entry("2", JoinStatus.ALREADY_JOINED),
+                entry("3", JoinStatus.JOINED),
+                entry("4", JoinStatus.JOINED));
+        verify(tournamentEventPublisher, times(1)).tournamentChanged(tournament);
+        verify(tournamentRepository, times(0)).releaseSlots(any(), anyInt());
+    }
+
+    @Test
+    void givenMemberJoiningConcurrently_whenJoinTournamentAsTeam_thenReleaseItsSlot() {
+        doReturn(Set.of()).when(tournamentMembershipRepository).findJoinedUserIds("1", List.of("3", "4"));
+        doReturn(new Tournament()).when(tournamentRepository).reserveSlots("1", 2);
+        doReturn(List.of("4")).when(tournamentMembershipRepository).joinAll("1", List.of("3", "4"));
+        Tournament released = new Tournament();
+        doReturn(released).when(tournamentRepository).releaseSlots("1", 1);
+
+        Map<String, JoinStatus> statuses = tournamentService.joinTournamentAsTeam("1", List.of("3", "4"));
+
+        assertThat(statuses).containsExactly(entry("3", JoinStatus.ALREADY_JOINED), entry("4", JoinStatus.JOINED));
+        verify(tournamentEventPublisher, times(1)).tournamentChanged(released);
+    }
+
+    @Test
+    void givenTeamLargerThanFreeSlots_whenJoinTournamentAsTeam_thenRejectWholeTeam() {
+        doReturn(Set.of()).when(tournamentMembershipRepository).findJoinedUserIds("1", List.of("3", "4"));
+        doReturn(null).when(tournamentRepository).reserveSlots("1", 2);
+        doReturn(true).when(tournamentRepository).existsById("1");
+
+        Map<String, JoinStatus> statuses = tournamentService.joinTournamentAsTeam("1", List.of("3", "4"));
+
+        assertThat(statuses).containsOnly(entry("3", JoinStatus.TOURNAMENT_FULL), entry("4", JoinStatus.TOURNAMENT_FULL));
+        verify(tournamentMembershipRepository, times(0)).joinAll(any(), any());
+    }
+
+    @Test
+    void givenMissingTournamentId_whenJoinTournamentAsTeam_thenThrowNoSuchElementException() {
+        doReturn(Set.of()).when(tournamentMembershipRepository).findJoinedUserIds("1", List.of("3"));
+        doReturn(null).when(tournamentRepository).reserveSlots("1", 1);
+        doReturn(false).when(tournamentRepository).existsById("1");
+
+        assertThrows(NoSuchElementException.class, () -> {
+            tournamentService.joinTournamentAsTeam("1", List.of("3"));
+        });
+
+        verify(tournamentMembershipRepository, times(0)).joinAll(any(), any());
+    }
 
+    @Test
+    void givenTournamentId_AndUserId_whenUnjoinTournament_thenReturnTournament() {
         Tournament savedTournament = new Tournament();
         savedTournament.setId("1");
         savedTournament.setName("test mutation name");
-        savedTournament.setGame("test mutation game");
-        savedTournament.setPrize(BigDecimal.valueOf(50.50));
-        savedTournament.setCurrency("TRY");
-        savedTournament.setRegion("Europe");
-        savedTournament.setBracketType("Battle Royal");
-        savedTournament.setTeamSize(5);
         savedTournament.setOwnerId("2");
-        savedTournament.getUserList().addAll(tournament1.getUserList());
-        savedTournament.getUserList().remove("2");
+        savedTournament.setParticipantCount(1);
 
-        doReturn(savedTournament).when(tournamentRepository).save(savedTournament);
+        doReturn(true).when(tournamentMembershipRepository).leave("1", "2");
+        doReturn(savedTournament).when(tournamentRepository).releaseSlots("1", 1);
 
-        Tournament returnedTournaments = tournamentService.unjoinTournament(tournament1, willUnjoinUser);
+        Tournament returnedTournaments = tournamentService.unjoinTournament("1", "2");
 
-        assertThat(returnedTournaments.getUserList()).doesNotContain("2");
+        assertThat(returnedTournaments.getParticipantCount()).isEqualTo(1);
+        verify(tournamentRepository, times(0)).save(any());
+        verify(tournamentEventPublisher, times(1)).tournamentChanged(savedTournament);
     }
 
     @Test
-    void givenTournament_AndAlreadyUnjoinedUser_whenUnjoinTournament_thenThrowUserDidNotJoinException() {
-        User willUnjoinUser = new User();
-        willUnjoinUser.setId("2");
-        willUnjoinUser.setUsername("user2");
-
-        Tournament tournament1 = new Tournament();
-        tournament1.setId("1");
-        tournament1.setName("test mutation name");
-        tournament1.setGame("test mutation game");
-        tournament1.setPrize(BigDecimal.valueOf(50.50));
-        tournament1.setCurrency("TRY");
-        tournament1.setRegion("Europe");
-        tournament1.setBracketType("Battle Royal");
-        tournament1.setTeamSize(5);
-        tournament1.setOwnerId("3");
-        tournament1.setUserList(List.of("1"));
+    void givenTournamentId_AndAlreadyUnjoinedUserId_whenUnjoinTournament_thenThrowUserDidNotJoinException() {
+        doReturn(false).when(tournamentMembershipRepository).leave("1", "2");
+        doReturn(true).when(tournamentRepository).existsById("1");
 
         assertThrows(UserDidNotJoinException.class, () -> {
-            tournamentService.unjoinTournament(tournament1, willUnjoinUser);
+            tournamentService.unjoinTournament("1", "2");
         });
 
-        verify(tournamentRepository, times(0)).save(any());
+        verify(tournamentRepository, times(0)).releaseSlots(any(), anyInt());
     }
 
     @Test
-    void givenTournament_AndUserId_whenEditTournament_thenReturnTournament() {
-        Tournament tournament = new Tournament();
-        tournament.setId("1");
-        tournament.setName("test mutation name");
-        tournament.setGame("test mutation game");
-        tournament.setPrize(BigDecimal.valueOf(50.50));
-        tournament.setCurrency("TRY");
-        tournament.setRegion("Europe");
-        tournament.setBracketType("Battle Royal");
-        tournament.setTeamSize(5);
-        tournament.setOwnerId("2");
-        tournament.setUserList(List.of("1"));
-
-        doReturn(tournament).when(tournamentRepository).save(tournament);
-
-        Tournament returnedTournaments = tournamentService.editTournament(tournament, "2");
-
-        assertThat(returnedTournaments.getOwnerId()).isEqualTo("2");
-        verify(tournamentRepository, times(1)).save(any());
+    void givenEditInput_AndOwnerId_whenEditTournament_thenSetOnlyEditedFields() {
+        EditTournamentInput input = new EditTournamentInput();
+        input.setId("1");
+        input.setName("test mutation name");
+        input.setDateTime("01-01-2030 12:00:00");
+        Tournament edited = new Tournament();
+        edited.setId("1");
+        edited.setOwnerId("2");
+
+        doReturn(edited).when(tournamentRepository).updateOwned(eq("1"), eq("2"), any());
+
+        Tournament returnedTournament = tournamentService.editTournament(input, "2");
+
+        assertThat(returnedTournament).isSameAs(edited);
+        verify(tournamentRepository).updateOwned(eq("1"), eq("2"), argThat(update ->
+                update.getUpdateObject().get("$set", Document.class).keySet().equals(Set.of("name", "dateTime"))));
+        verify(tournamentRepository, times(0)).save(any());
+        verify(tournamentEventPublisher, times(1)).tournamentChanged(edited);
     }
 
     @Test
-    void givenTournament_AndUserId_whenEditTournament_thenThrowWrongUserException() {
-        Tournament tournament = new Tournament();
-        tournament.setId("1");
-        tournament.setName("test mutation name");
-        tournament.setGame("test mutation game");
-        tournament.setPrize(BigDecimal.valueOf(50.50));
-        tournament.setCurrency("TRY");
-        tournament.setRegion("Europe");
-        tournament.setBracketType("Battle Royal");
-        tournament.setTeamSize(5);
-        tournament.setOwnerId("3");
-        tournament.setUserList(List.of("1"));
+    void givenEditInput_AndOtherUserId_whenEditTournament_thenThrowWrongUserException() {
+        EditTournamentInput input = new EditTournamentInput();
+        input.setId("1");
+        input.setName("test mutation name");
+
+        doReturn(null).when(tournamentRepository).updateOwned(eq("1"), eq("2"), any());
+        doReturn(true).when(tournamentRepository).existsById("1");
 
         assertThrows(WrongUserException.class, () -> {
-            tournamentService.editTournament(tournament, "2");
+            tournamentService.editTournament(input, "2");
         });
 
         verify(tournamentRepository, times(0)).save(any());
     }
+
+    @Test
+    void givenEditInput_AndMissingTournament_whenEditTournament_thenThrowNoSuchElementException() {
+        EditTournamentInput input = new EditTournamentInput();
+        input.setId("1");
+        input.setName("test mutation name");
+
+        doReturn(null).when(tournamentRepository).updateOwned(eq("1"), eq("2"), any());
+        doReturn(false).when(tournamentRepository).existsById("1");
+
+        assertThrows(NoSuchElementException.class, () -> {
+            tournamentService.editTournament(input, "2");
+        });
+    }
+
+    @Test
+    void givenMalformedDate_whenEditTournament_thenThrowInvalidTournamentInputException() {
+        EditTournamentInput input = new EditTournamentInput();
+        input.setId("1");
+        input.setDateTime("2030-01-01");
+
+        assertThrows(InvalidTournamentInputException.class, () -> {
+            tournamentService.editTournament(input, "2");
+        });
+
+        verify(tournamentRepository, times(0)).updateOwned(any(), any(), any());
+    }
+
+    private static TournamentMembership membership(String tournamentId, String userId) {
+        return new TournamentMembership(new ObjectId().toHexString(), tournamentId, userId, Instant.now(), MembershipStatus.JOINED);
+    }
 }
@@ -1,26 +1,32 @@
 package org.example.unit.service;
 
+import org.example.error.PasswordHashingBusyException;
+import org.example.config.security.AuthenticatedUser;
 import org.example.error.UserAlreadyExistsException;
+import org.example.error.UserNotFoundException;
 import org.example.error.WrongUserException;
 import org.example.mapper.UserMapper;
 import org.example.model.EditUserInput;
 import org.example.model.entity.Role;
-import org.example.model.entity.Tournament;
 import org.example.model.entity.User;
-import org.example.repository.RoleRepository;
 import org.example.repository.UserRepository;
+import org.example.service.PasswordHashingService;
+import org.example.service.RoleRegistry;
 import org.example.service.UserServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -37,14 +43,17 @@ public class UserServiceUnitTest {
     UserRepository userRepository;
 
     @Mock
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Mock
-    PasswordEncoder passwordEncoder;
+    PasswordHashingService passwordHashingService;
 
     @Mock
     UserMapper userMapper;
 
+    @Spy
+    SyncTaskExecutor requestExecutor = new SyncTaskExecutor();
+
     @Test
     void givenUser_whenSaveOrUpdateUser_thenReturnUser() {
         User user = new User();
@@ -74,9 +83,9 @@ public class UserServiceUnitTest {
         willSaveUser.getRoleList().add(userRole);
 
 
-        doReturn("Encrypted Password").when(passwordEncoder).encode(user.getPassword());
+        doReturn("Encrypted Password").when(passwordHashingService).encode(user.getPassword());
         doReturn(null).when(userRepository).findUserByUsername(user.getUsername());
-        doReturn(userRole).when(roleRepository).findByName("ROLE_USER");
+        doReturn(userRole).when(roleRegistry).findByName("ROLE_USER");
         doReturn(willSaveUser).when(userRepository).save(willSaveUser);
 
         User returnedUser = userService.createUser(user);
@@ -99,8 +108,58 @@ public class UserServiceUnitTest {
         });
 
         verify(userRepository, times(1)).findUserByUsername(user.getUsername());
-        verify(passwordEncoder, times(0)).encode(user.getPassword());
-        verify(roleRepository, times(0)).findByName("ROLE_USER");
+        verify(passwordHashingService, times(0)).encode(user.getPassword());
+        verify(roleRegistry, times(0)).findByName("ROLE_USER");
+        verify(userRepository, times(0)).save(any());
+    }
+
+    @Test
+    void givenConcurrentlyRegisteredUsername_whenCreateUser_thenThrowUserAlreadyExistsException() {
+        User user = new User();
+        user.setUsername("user1");
+        user.setPassword("Password");
+
+        doReturn(null).when(userRepository).findUserByUsername(user.getUsername());
+        doReturn("Encrypted Password").when(passwordHashingService).encode("Password");
+        doReturn(new Role("1", "ROLE_USER")).when(roleRegistry).findByName("ROLE_USER");
+        doThrow(new DuplicateKeyException("E11000 duplicate key error")).when(userRepository).save(user);
+
+        assertThrows(UserAlreadyExistsException.class, () -> {
+            userService.createUser(user);
+        });
+    }
+
+    @Test
+    void givenUser_whenCreateUserAsync_thenReturnSavedUser() {
+        User user = new User();
+        user.setUsername("user1");
+        user.setPassword("Password");
+
+        doReturn(null).when(userRepository).findUserByUsername(user.getUsername());
+        doReturn(CompletableFuture.completedFuture("Encrypted Password")).when(passwordHashingService).encodeAsync("Password");
+        doReturn(new Role("1", "ROLE_USER")).when(roleRegistry).findByName("ROLE_USER");
+        doReturn(user).when(userRepository).save(user);
+
+        User savedUser = userService.createUserAsync(user).join();
+
+        assertThat(savedUser.getPassword()).isEqualTo("Encrypted Password");
+        assertThat(savedUser.getRoleList()).extracting(Role::getName).containsExactly("ROLE_USER");
+        verify(requestExecutor, times(1)).execute(any());
+    }
+
+    @Test
+    void givenSaturatedHashingPool_whenCreateUserAsync_thenFailWithPasswordHashingBusyException() {
+        User user = new User();
+        user.setUsername("user1");
+        user.setPassword("Password");
+
+        doReturn(null).when(userRepository).findUserByUsername(user.getUsername());
+        doReturn(CompletableFuture.failedFuture(new PasswordHashingBusyException("busy", 1)))
+                .when(passwordHashingService).encodeAsync("Password");
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> userService.createUserAsync(user).join());
+
+        assertThat(exception.getCause()).isInstanceOf(PasswordHashingBusyException.class);
         verify(userRepository, times(0)).save(any());
     }
 
@@ -163,94 +222,54 @@ public class UserServiceUnitTest {
         user.setPassword("Password");
         user.getRoleList().addAll(List.of(userRole, adminRole));
 
-        doReturn(user).when(userRepository).findUserByUsername("user1");
+        doReturn(user).when(userRepository).findCredentialsByUsername("user1");
 
         UserDetails userDetails = userService.loadUserByUsername("user1");
 
         assertThat(userDetails.getUsername()).isEqualTo("user1");
         assertThat(userDetails.getPassword()).isEqualTo("Password");
         assertThat(userDetails.getAuthorities().size()).isEqualTo(2);
+        assertThat(((AuthenticatedUser) userDetails).getUserId()).isEqualTo("1");
 
     }
 
     @Test
     void givenUsername_whenLoadUserByUsername_thenThrowUsernameNotFoundException() {
-        doReturn(null).when(userRepository).findUserByUsername("username");
+        doReturn(null).when(userRepository).findCredentialsByUsername("username");
 
         assertThrows(UsernameNotFoundException.class, () -> {
             userService.loadUserByUsername("username");
         });
 
-        verify(userRepository, times(1)).findUserByUsername("username");
+        verify(userRepository, times(1)).findCredentialsByUsername("username");
+        verify(userRepository, times(0)).findUserByUsername(any());
     }
 
     @Test
-    void givenPassword_whenPasswordEncode_thenReturnEncodedPassword() {
-        doReturn("Encoded Password").when(passwordEncoder).encode("password");
-
-        String encodedPassword = userService.passwordEncode("password");
-
-        assertThat(encodedPassword).isEqualTo("Encoded Password");
-    }
-
-    @Test
-    void givenTournament_andUser_whenAddTournamentIdToUser() {
-        Tournament tournament = new Tournament();
-        tournament.setId("1");
-        tournament.setName("test mutation name");
-        tournament.setGame("test mutation game");
-        tournament.setPrize(BigDecimal.valueOf(50.50));
-        tournament.setCurrency("TRY");
-        tournament.setRegion("Europe");
-        tournament.setBracketType("Battle Royal");
-        tournament.setTeamSize(5);
-        tournament.setOwnerId("2");
-        tournament.setUserList(List.of("1"));
-
+    void givenUsername_whenGetUserId_thenReturnIdFromProjection() {
         User user = new User();
         user.setId("1");
-        user.setUsername("user1");
-
-        User willSaveUser = new User();
-        willSaveUser.setId("1");
-        willSaveUser.setUsername("user1");
-        willSaveUser.getTournamentId().add(tournament.getId());
 
-        doReturn(willSaveUser).when(userRepository).save(willSaveUser);
-
-        userService.addTournamentIdToUser(tournament, user);
+        doReturn(user).when(userRepository).findIdByUsername("user1");
 
-        verify(userRepository, times(1)).save(user);
+        assertThat(userService.getUserId("user1")).isEqualTo("1");
+        verify(userRepository, times(0)).findUserByUsername(any());
     }
 
     @Test
-    void givenTournament_andUser_whenRemoveTournamentIdToUser() {
-        Tournament tournament = new Tournament();
-        tournament.setId("1");
-        tournament.setName("test mutation name");
-        tournament.setGame("test mutation game");
-        tournament.setPrize(BigDecimal.valueOf(50.50));
-        tournament.setCurrency("TRY");
-        tournament.setRegion("Europe");
-        tournament.setBracketType("Battle Royal");
-        tournament.setTeamSize(5);
-        tournament.setOwnerId("2");
-        tournament.setUserList(List.of("1"));
-
-        User user = new User();
-        user.setId("1");
-        user.setUsername("user1");
-        user.getTournamentId().add(tournament.getId());
+    void givenUnknownUsername_whenGetUserId_thenThrowUserNotFoundException() {
+        doReturn(null).when(userRepository).findIdByUsername("username");
 
-        User willSaveUser = new User();
-        willSaveUser.setId("1");
-        willSaveUser.setUsername("user1");
+        assertThrows(UserNotFoundException.class, () -> userService.getUserId("username"));
+    }
 
-        doReturn(willSaveUser).when(userRepository).save(willSaveUser);
+    @Test
+    void givenPassword_whenPasswordEncode_thenReturnEncodedPassword() {
+        doReturn("Encoded Password").when(passwordHashingService).encode("password");
 
-        userService.removeTournamentIdFromUser(tournament, user);
+        String encodedPassword = userService.passwordEncode("password");
 
-        verify(userRepository, times(1)).save(user);
+        assertThat(encodedPassword).isEqualTo("Encoded Password");
     }
 
     @Test
@@ -276,18 +295,39 @@ public class UserServiceUnitTest {
         willUpdateUser.setUsername("user1");
         willUpdateUser.setPassword("Encoded Password");
 
-        doReturn("Encoded Password").when(passwordEncoder).encode("password");
+        doReturn(CompletableFuture.completedFuture("Encoded Password")).when(passwordHashingService).encodeAsync("password");
         doReturn(returnedUser).when(userRepository).findUserById(passwordEncodedEditUserInput.getId());
         lenient().doReturn(willUpdateUser).when(userMapper).editUserInputToUser(passwordEncodedEditUserInput, returnedUser);
         doReturn(willUpdateUser).when(userRepository).save(willUpdateUser);
 
-        userService.editUser(editUserInput, "user1");
+        userService.editUser(editUserInput, "user1").join();
 
-        verify(passwordEncoder, times(1)).encode("password");
+        verify(passwordHashingService, times(1)).encodeAsync("password");
+        verify(passwordHashingService, never()).encode(any());
+        verify(requestExecutor, times(1)).execute(any());
         verify(userRepository, times(1)).findUserById("1");
         verify(userRepository, times(1)).save(willUpdateUser);
     }
 
+    @Test
+    void givenNoPassword_whenEditUser_thenSaveWithoutHashing() {
+        EditUserInput editUserInput = new EditUserInput();
+        editUserInput.setId("1");
+        editUserInput.setName("Edited Name");
+
+        User user = new User();
+        user.setId("1");
+        user.setUsername("user1");
+
+        doReturn(user).when(userRepository).findUserById("1");
+        doReturn(user).when(userRepository).save(user);
+
+        User editedUser = userService.editUser(editUserInput, "user1").join();
+
+        assertThat(editedUser.getName()).isEqualTo("Edited Name");
+        verifyNoInteractions(passwordHashingService);
+    }
+
     @Test
     void givenTournament_andUser_whenEditUser_thenThrowWrongUserException() {
         EditUserInput editUserInput = new EditUserInput();
@@ -305,7 +345,6 @@ public class UserServiceUnitTest {
         willUpdateUser.setUsername("user1");
         willUpdateUser.setPassword("password");
 
-        doReturn("Encoded Password").when(passwordEncoder).encode("password");
         doReturn(willUpdateUser).when(userRepository).findUserById("1");
 
         assertThrows(WrongUserException.class, () -> {
@@ -313,7 +352,7 @@ public class UserServiceUnitTest {
         });
 
 
-        verify(passwordEncoder, times(1)).encode("password");
+        verify(passwordHashingService, never()).encodeAsync(any());
         verify(userRepository, times(1)).findUserById("1");
         verify(userMapper, times(0)).editUserInputToUser(editUserInput, willUpdateUser);
         verify(userRepository, times(0)).save(willUpdateUser);